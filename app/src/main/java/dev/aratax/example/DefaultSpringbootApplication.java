@@ -3,7 +3,9 @@ package dev.aratax.example;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @EnableAspectJAutoProxy(exposeProxy = true)
 @SpringBootApplication
 public class DefaultSpringbootApplication {
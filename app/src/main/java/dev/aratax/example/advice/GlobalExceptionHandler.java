@@ -3,6 +3,7 @@ package dev.aratax.example.advice;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -17,8 +18,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import dev.aratax.example.exception.AccountBusyException;
 import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.DuplicateRequestException;
 import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.exception.TransactionOutcomeUnknownException;
 import dev.aratax.example.model.vo.ApiErrorResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -165,6 +169,38 @@ public class GlobalExceptionHandler {
             "Business rule violation", ex);
     }
 
+    // 503 - Service Unavailable: Per-account execution capacity exhausted
+    @ExceptionHandler(AccountBusyException.class)
+    public ResponseEntity<ApiErrorResponse> handleAccountBusy(
+            AccountBusyException ex, WebRequest request) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, request, 
+            "Account is busy - please retry later", ex);
+    }
+
+    // 409 - Conflict: Same Idempotency-Key still in flight
+    @ExceptionHandler(DuplicateRequestException.class)
+    public ResponseEntity<ApiErrorResponse> handleDuplicateRequest(
+            DuplicateRequestException ex, WebRequest request) {
+        return build(HttpStatus.CONFLICT, request, 
+            "Request with the same Idempotency-Key is in progress", ex);
+    }
+
+    // 503 - Service Unavailable: Bounded server-side capacity exhausted
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiErrorResponse> handleRejectedExecution(
+            RejectedExecutionException ex, WebRequest request) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, request, 
+            "Server is busy - please retry later", ex);
+    }
+
+    // 500 - Internal Server Error: Queued transaction neither confirmed nor withdrawn
+    @ExceptionHandler(TransactionOutcomeUnknownException.class)
+    public ResponseEntity<ApiErrorResponse> handleTransactionOutcomeUnknown(
+            TransactionOutcomeUnknownException ex, WebRequest request) {
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, request, 
+            "Transaction outcome unknown - retry with the same Idempotency-Key", ex);
+    }
+
     // 500 - Internal Server Error: Catch-all
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGenericException(
@@ -1,29 +1,34 @@
 package dev.aratax.example.advice;
 
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 
+/**
+ * Sleeps around {@link dev.aratax.example.annotation.InjectJitter} methods. Uses
+ * {@link ThreadLocalRandom} only, so the sleeps stay free of shared state and
+ * unmount cleanly when requests run on virtual threads. {@code app.jitter.enabled=false}
+ * turns it off, e.g. to benchmark the locking modes themselves.
+ */
 @Aspect
 @Order(-1)
 @Component
+@ConditionalOnProperty(name = "app.jitter.enabled", havingValue = "true", matchIfMissing = true)
 public class JitterAspect {
 
-    private final Random random = new Random();
-
     @Around("@annotation(dev.aratax.example.annotation.InjectJitter)")
     public Object addJitter(ProceedingJoinPoint pjp) throws Throwable {
         Thread.sleep(calculateJitter());
         try {
             return pjp.proceed();
         } finally {
-            if (random.nextBoolean()) {
+            if (ThreadLocalRandom.current().nextBoolean()) {
                 Thread.sleep(calculateJitter());
             }
         }
@@ -0,0 +1,19 @@
+package dev.aratax.example.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import dev.aratax.example.util.UuidV7Generator;
+
+/**
+ * Assigns a time-ordered version 7 UUID on persist, so ids generated by Hibernate sort
+ * like those from the {@code uuidv7()} column default.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UuidV7Id {}
@@ -0,0 +1,211 @@
+package dev.aratax.example.archive;
+
+import static dev.aratax.example.repository.LedgerEntryRepositoryCustom.ID_SLACK;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.repository.LedgerEntryRepositoryCustom.Tail;
+import dev.aratax.example.util.UuidV7;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The archived months of the ledger, read from the segment files in {@code dir}. The
+ * directory is rescanned every {@code refresh-interval}, so segments written by the archiver
+ * on any replica sharing it show up without a restart. Each read here mirrors one on the hot
+ * table and applies the same filters; an empty directory costs nothing.
+ */
+@Slf4j
+@Component
+public class LedgerArchive {
+
+    static final String SUFFIX = ".seg";
+
+    private static final Comparator<LedgerEntryDto> BY_ID = Comparator.comparing(LedgerEntryDto::getId,
+        LedgerSegment::compare);
+
+    private final Path dir;
+    /** Ordered by id; months never overlap */
+    private volatile List<LedgerSegment> segments = List.of();
+
+    public LedgerArchive(@Value("${app.ledger.archive.dir:ledger-archive}") Path dir, MeterRegistry registry) {
+        this.dir = dir;
+        Gauge.builder("app.ledger.archive.segments", this, archive -> archive.segments.size())
+            .description("Ledger segment files being served")
+            .register(registry);
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.archive.refresh-interval:1m}")
+    synchronized void refresh() {
+        if (!Files.isDirectory(dir))
+            return;
+        var open = new HashMap<Path, LedgerSegment>();
+        segments.forEach(segment -> open.put(segment.file(), segment));
+        var found = new ArrayList<LedgerSegment>();
+        try (var files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (var file : files) {
+                var segment = open.get(file);
+                if (segment == null) {
+                    try {
+                        segment = LedgerSegment.open(file);
+                        log.info("Serving ledger segment {} with {} entries", file.getFileName(), segment.rows());
+                    } catch (IOException ex) {
+                        log.warn("Skipping ledger segment {}: {}", file, ex.getMessage());
+                        continue;
+                    }
+                }
+                found.add(segment);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not list ledger archive {}: {}", dir, ex.getMessage());
+            return;
+        }
+        found.sort(Comparator.comparing(LedgerSegment::minId, LedgerSegment::compare));
+        segments = List.copyOf(found);
+    }
+
+    /**
+     * Adds the archived entries that belong on a page to the rows the hot table returned for
+     * it, keeping the page's order and size
+     */
+    public List<LedgerEntryDto> mergePage(UUID accountId, LedgerQuery query, List<LedgerEntryDto> hot, int limit) {
+        var current = segments;
+        if (current.isEmpty())
+            return hot;
+        var cursor = query.getCursor();
+        var lo = lowerId(query.getFrom());
+        var hi = upperId(query.getTo());
+        // past the last row of a full page nothing archived can make it onto the page
+        var last = hot.size() >= limit ? hot.get(hot.size() - 1).getId() : null;
+        if (query.isAscending()) {
+            lo = max(lo, cursor);
+            hi = min(hi, last);
+        } else {
+            lo = max(lo, last);
+            hi = min(hi, cursor);
+        }
+        var direction = query.getDirection() != null ? query.getDirection().name() : null;
+        Predicate<LedgerEntryDto> matches = entry -> !entry.getId().equals(cursor)
+            && (direction == null || direction.equals(entry.getDirection()))
+            && inWindow(entry, query.getFrom(), query.getTo());
+
+        var archived = new ArrayList<LedgerEntryDto>();
+        for (var segment : query.isAscending() ? current : current.reversed()) {
+            if (archived.size() >= limit)
+                break;
+            if (!segment.overlaps(lo, hi))
+                continue;
+            segment.scan(accountId, lo, hi, query.isAscending(), true, entry -> {
+                if (matches.test(entry))
+                    archived.add(entry);
+                return archived.size() < limit;
+            });
+        }
+        return archived.isEmpty() ? hot : merge(hot, archived, query.isAscending(), limit);
+    }
+
+    /** Whether any archived month can hold entries of the window; null bounds are open */
+    public boolean overlaps(Instant from, Instant to) {
+        var lo = lowerId(from);
+        var hi = upperId(to);
+        return segments.stream().anyMatch(segment -> segment.overlaps(lo, hi));
+    }
+
+    /**
+     * Streams one account's archived entries of the window in id order, every one of them
+     * older than the hot table's. Segments are in account order, so a window across accounts
+     * could only come out in id order by sorting or merging every account of a month; such
+     * exports are refused instead.
+     */
+    public void stream(UUID accountId, Instant from, Instant to, Consumer<LedgerEntryDto> sink) {
+        if (accountId == null) {
+            if (overlaps(from, to))
+                throw new IllegalArgumentException("An export across accounts cannot reach into archived months");
+            return;
+        }
+        var lo = lowerId(from);
+        var hi = upperId(to);
+        for (var segment : segments) {
+            if (!segment.overlaps(lo, hi))
+                continue;
+            segment.scan(accountId, lo, hi, true, true, entry -> {
+                if (inWindow(entry, from, to))
+                    sink.accept(entry);
+                return true;
+            });
+        }
+    }
+
+    /** Archived counterpart of {@code LedgerEntryRepositoryCustom.sumTail} */
+    public Tail sumTail(UUID accountId, UUID fromId, Instant asOf) {
+        var hi = upperId(asOf);
+        var net = new BigDecimal[] {BigDecimal.ZERO};
+        var entries = new long[1];
+        for (var segment : segments) {
+            if (!segment.overlaps(fromId, hi))
+                continue;
+            segment.scan(accountId, fromId, hi, true, false, entry -> {
+                if (entry.getCreatedAt().isBefore(asOf)) {
+                    net[0] = "CREDIT".equals(entry.getDirection()) ? net[0].add(entry.getAmount())
+                        : net[0].subtract(entry.getAmount());
+                    entries[0]++;
+                }
+                return true;
+            });
+        }
+        return new Tail(net[0], entries[0]);
+    }
+
+    private static List<LedgerEntryDto> merge(List<LedgerEntryDto> hot, List<LedgerEntryDto> archived,
+            boolean ascending, int limit) {
+        var merged = new ArrayList<LedgerEntryDto>(limit);
+        int h = 0;
+        int a = 0;
+        while (merged.size() < limit && (h < hot.size() || a < archived.size())) {
+            boolean takeHot = a == archived.size()
+                || h < hot.size() && (BY_ID.compare(hot.get(h), archived.get(a)) < 0) == ascending;
+            merged.add(takeHot ? hot.get(h++) : archived.get(a++));
+        }
+        return merged;
+    }
+
+    private static boolean inWindow(LedgerEntryDto entry, Instant from, Instant to) {
+        return (from == null || !entry.getCreatedAt().isBefore(from)) && (to == null || entry.getCreatedAt().isBefore(to));
+    }
+
+    private static UUID lowerId(Instant from) {
+        return from != null ? UuidV7.min(from.minus(ID_SLACK).toEpochMilli()) : null;
+    }
+
+    private static UUID upperId(Instant to) {
+        return to != null ? UuidV7.min(to.plus(ID_SLACK).toEpochMilli()) : null;
+    }
+
+    private static UUID max(UUID a, UUID b) {
+        return a == null ? b : b == null || LedgerSegment.compare(a, b) >= 0 ? a : b;
+    }
+
+    private static UUID min(UUID a, UUID b) {
+        return a == null ? b : b == null || LedgerSegment.compare(a, b) <= 0 ? a : b;
+    }
+
+}
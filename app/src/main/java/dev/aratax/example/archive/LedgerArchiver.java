@@ -0,0 +1,155 @@
+package dev.aratax.example.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.repository.LedgerEntryRepositoryCustom.Tail;
+import dev.aratax.example.repository.LedgerPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves every ledger partition that {@code LedgerPartitionManager} detached out of
+ * PostgreSQL: the month is written to a segment file, forced to disk and read back, and only
+ * when its row count and every account's net match the totals saved on detach is the file
+ * moved into place and the table dropped, in the transaction that read it. A failure at any
+ * step leaves the table in place and the next run writes the file again. The totals stay
+ * behind for reconciliation.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ledger.archive.enabled", havingValue = "true")
+public class LedgerArchiver {
+
+    private final LedgerPartitionRepository partitionRepo;
+    private final LedgerArchive archive;
+    private final TransactionTemplate txTemplate;
+    private final Path dir;
+    private final int blockRows;
+    private final long lockTimeoutMillis;
+
+    public LedgerArchiver(LedgerPartitionRepository partitionRepo, LedgerArchive archive,
+            PlatformTransactionManager txManager,
+            @Value("${app.ledger.archive.dir:ledger-archive}") Path dir,
+            @Value("${app.ledger.archive.block-rows:1024}") int blockRows,
+            @Value("${app.ledger.partitions.lock-timeout:5s}") Duration lockTimeout) {
+        // a relative default would land in each pod's own working directory
+        if (!dir.isAbsolute())
+            throw new IllegalArgumentException(
+                "app.ledger.archive.dir must be an absolute path on a volume every replica shares, not " + dir);
+        this.partitionRepo = partitionRepo;
+        this.archive = archive;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.dir = dir;
+        this.blockRows = blockRows;
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.archive.interval:1h}",
+               initialDelayString = "${app.ledger.archive.initial-delay:5m}")
+    void archiveDetached() {
+        var detached = partitionRepo.findDetached();
+        if (detached.isEmpty())
+            return;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            log.warn("Could not create ledger archive {}: {}", dir, ex.getMessage());
+            return;
+        }
+        for (var month : detached) {
+            if (!archiveMonth(month))
+                break;
+        }
+        archive.refresh();
+    }
+
+    /** @return whether to go on with the next month */
+    private boolean archiveMonth(YearMonth month) {
+        var name = LedgerPartitionRepository.name(month);
+        try {
+            Long rows = txTemplate.execute(status -> {
+                // the partition lock also keeps the partition manager out while the month is read
+                if (!partitionRepo.tryLock())
+                    return null;
+                if (!partitionRepo.findDetached().contains(month))
+                    return 0L;
+                try (var writer = new LedgerSegmentWriter(dir.resolve(name + LedgerArchive.SUFFIX), blockRows)) {
+                    partitionRepo.streamDetached(month, entry -> {
+                        try {
+                            writer.append(entry);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                    var expected = partitionRepo.findDetachedTotals(month);
+                    if (writer.rows() > 0) {
+                        writer.finish();
+                        verify(LedgerSegment.open(writer.tmp()), expected);
+                        writer.publish();
+                    } else if (!expected.isEmpty()) {
+                        throw new IllegalStateException("Partition " + name + " is empty but has detached totals");
+                    }
+                    partitionRepo.setLockTimeout(lockTimeoutMillis);
+                    partitionRepo.drop(month);
+                    return writer.rows();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (rows == null) {
+                log.debug("Ledger archiving skipped, another replica holds the partition lock");
+                return false;
+            }
+            if (rows > 0)
+                log.info("Archived ledger partition {} with {} entries", name, rows);
+            return true;
+        } catch (DataAccessException | UncheckedIOException | IllegalStateException ex) {
+            log.warn("Could not archive ledger partition {}, retrying next run: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+
+    /** Reads the whole segment back, checking every block, and compares it with the totals */
+    static void verify(LedgerSegment segment, Map<UUID, Tail> expected) {
+        var actual = new HashMap<UUID, Tail>();
+        var rows = new long[1];
+        segment.scan(null, null, null, true, false, entry -> {
+            var amount = "CREDIT".equals(entry.getDirection()) ? entry.getAmount() : entry.getAmount().negate();
+            actual.merge(entry.getAccountId(), new Tail(amount, 1), Tail::plus);
+            rows[0]++;
+            return true;
+        });
+        long expectedRows = expected.values().stream().mapToLong(Tail::entries).sum();
+        if (rows[0] != segment.rows() || rows[0] != expectedRows)
+            throw new IllegalStateException("Ledger segment " + segment.file().getFileName() + " holds " + rows[0]
+                + " of " + segment.rows() + " entries, the partition " + expectedRows);
+        for (var total : expected.entrySet()) {
+            var read = actual.getOrDefault(total.getKey(), new Tail(BigDecimal.ZERO, 0));
+            if (read.entries() != total.getValue().entries() || read.net().compareTo(total.getValue().net()) != 0)
+                throw new IllegalStateException("Ledger segment " + segment.file().getFileName()
+                    + " does not match the detached totals of account " + total.getKey());
+        }
+        if (!expected.keySet().containsAll(actual.keySet()))
+            throw new IllegalStateException("Ledger segment " + segment.file().getFileName()
+                + " holds accounts without detached totals");
+    }
+
+}
@@ -0,0 +1,300 @@
+package dev.aratax.example.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+
+/**
+ * One immutable, memory-mapped archive file holding a month of ledger entries. Rows are
+ * sorted by (account_id, id) and cut into blocks; inside a block each column is stored and
+ * deflated on its own, so sums never inflate the reasons. The sparse index holds the first
+ * (account_id, id) of every block, and ids being uuidv7, one binary search finds the block
+ * where an account's time window starts. Every block carries a CRC32 in the index, checked
+ * each time the block is read, and the index and footer carry one of their own, checked on
+ * open, so a damaged file fails loudly instead of returning wrong entries.
+ *
+ * <pre>
+ * int      magic
+ * block*   int rows, (int compressed, int raw) per column, the compressed columns
+ * index    per block: first account (16), first id (16), long offset, int crc of the block
+ * footer   long index offset, int blocks, long rows, min id (16), max id (16),
+ *          int crc of the index and the footer before it, int magic
+ * </pre>
+ *
+ * UUIDs compare as unsigned bytes, the way PostgreSQL orders them.
+ */
+final class LedgerSegment {
+
+    static final int MAGIC = 0x4C534732; // "LSG2"
+    static final int INDEX_ENTRY_BYTES = 16 + 16 + 8 + 4;
+    static final int FOOTER_BYTES = 8 + 4 + 8 + 16 + 16 + 4 + 4;
+
+    // account runs (account, varint length); ids (zigzag msb delta, lsb); one byte per direction;
+    // varint cents; varint length + 1 and UTF-8 per reason; zigzag created_at micros against the id's milli
+    static final int ACCOUNT = 0;
+    static final int ID = 1;
+    static final int DIRECTION = 2;
+    static final int AMOUNT = 3;
+    static final int REASON = 4;
+    static final int CREATED = 5;
+    static final int COLUMNS = 6;
+
+    static final int SCALE = 2;
+
+    private static final UUID LOWEST = new UUID(0, 0);
+    private static final UUID HIGHEST = new UUID(-1L, -1L);
+
+    private final Path file;
+    private final MappedByteBuffer data;
+    private final UUID[] firstAccounts;
+    private final UUID[] firstIds;
+    private final int[] offsets;
+    private final int[] crcs;
+    private final int index;
+    private final long rows;
+    private final UUID minId;
+    private final UUID maxId;
+
+    private LedgerSegment(Path file, MappedByteBuffer data) throws IOException {
+        this.file = file;
+        this.data = data;
+        int footer = data.capacity() - FOOTER_BYTES;
+        if (data.getInt(0) != MAGIC || data.getInt(footer + FOOTER_BYTES - 4) != MAGIC)
+            throw new IOException("Not a ledger segment: " + file);
+        long indexAt = data.getLong(footer);
+        if (indexAt < 4 || indexAt > footer)
+            throw new IOException("Corrupt ledger segment " + file);
+        this.index = (int) indexAt;
+        int crcAt = footer + FOOTER_BYTES - 8;
+        if (crc(data, index, crcAt) != data.getInt(crcAt))
+            throw new IOException("Corrupt ledger segment " + file + ": index checksum mismatch");
+        int blocks = data.getInt(footer + 8);
+        this.rows = data.getLong(footer + 12);
+        this.minId = uuid(data, footer + 20);
+        this.maxId = uuid(data, footer + 36);
+        this.firstAccounts = new UUID[blocks];
+        this.firstIds = new UUID[blocks];
+        this.offsets = new int[blocks];
+        this.crcs = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int at = index + b * INDEX_ENTRY_BYTES;
+            firstAccounts[b] = uuid(data, at);
+            firstIds[b] = uuid(data, at + 16);
+            offsets[b] = (int) data.getLong(at + 32);
+            crcs[b] = data.getInt(at + 40);
+        }
+    }
+
+    static LedgerSegment open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4 + FOOTER_BYTES || size > Integer.MAX_VALUE)
+                throw new IOException("Not a ledger segment: " + file);
+            // the mapping outlives the channel
+            return new LedgerSegment(file, channel.map(MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    UUID minId() {
+        return minId;
+    }
+
+    /** Whether any id in [fromId, toId) can be in this segment; null bounds are open */
+    boolean overlaps(UUID fromId, UUID toId) {
+        return (toId == null || compare(minId, toId) < 0) && (fromId == null || compare(maxId, fromId) >= 0);
+    }
+
+    /**
+     * Visits the entries with fromId <= id < toId until the visitor returns false: one
+     * account's in id order, ascending or descending, or with a null accountId every
+     * account's in (account_id, id) order. Reasons are left null unless asked for.
+     */
+    void scan(UUID accountId, UUID fromId, UUID toId, boolean ascending, boolean reasons,
+            Predicate<LedgerEntryDto> visitor) {
+        var lo = fromId != null ? fromId : LOWEST;
+        var hi = toId != null ? toId : HIGHEST;
+        if (accountId == null) {
+            for (int b = 0; b < offsets.length; b++) {
+                var block = block(b, reasons);
+                for (int i = 0; i < block.ids.length; i++)
+                    if (compare(block.ids[i], lo) >= 0 && compare(block.ids[i], hi) < 0 && !visitor.test(block.entry(i)))
+                        return;
+            }
+        } else if (ascending) {
+            for (int b = Math.max(0, floor(accountId, lo)); b < offsets.length; b++) {
+                var block = block(b, reasons);
+                for (int i = 0; i < block.ids.length; i++) {
+                    if (compare(block.accounts[i], block.ids[i], accountId, lo) < 0)
+                        continue;
+                    if (compare(block.accounts[i], block.ids[i], accountId, hi) >= 0 || !visitor.test(block.entry(i)))
+                        return;
+                }
+            }
+        } else {
+            for (int b = floor(accountId, hi); b >= 0; b--) {
+                var block = block(b, reasons);
+                for (int i = block.ids.length - 1; i >= 0; i--) {
+                    if (compare(block.accounts[i], block.ids[i], accountId, hi) >= 0)
+                        continue;
+                    if (compare(block.accounts[i], block.ids[i], accountId, lo) < 0 || !visitor.test(block.entry(i)))
+                        return;
+                }
+            }
+        }
+    }
+
+    static int compare(UUID a, UUID b) {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    static int compare(UUID account1, UUID id1, UUID account2, UUID id2) {
+        int c = compare(account1, account2);
+        return c != 0 ? c : compare(id1, id2);
+    }
+
+    /** Last block starting at or before the key, -1 when the key precedes every block */
+    private int floor(UUID accountId, UUID id) {
+        int lo = 0;
+        int hi = offsets.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(firstAccounts[mid], firstIds[mid], accountId, id) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid - 1;
+        }
+        return hi;
+    }
+
+    private Block block(int b, boolean reasons) {
+        int at = offsets[b];
+        if (crc(data, at, b + 1 < offsets.length ? offsets[b + 1] : index) != crcs[b])
+            throw new UncheckedIOException(new IOException("Corrupt ledger segment " + file + ": block " + b
+                + " checksum mismatch"));
+        int n = data.getInt(at);
+        at += 4 + COLUMNS * 8;
+        var columns = new ByteBuffer[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            int compressed = data.getInt(offsets[b] + 4 + c * 8);
+            int raw = data.getInt(offsets[b] + 8 + c * 8);
+            if (c != REASON || reasons)
+                columns[c] = inflate(data.slice(at, compressed), raw);
+            at += compressed;
+        }
+
+        var block = new Block(new UUID[n], new UUID[n], new boolean[n], new long[n], new String[n], new long[n]);
+        for (int i = 0; i < n;) {
+            var account = new UUID(columns[ACCOUNT].getLong(), columns[ACCOUNT].getLong());
+            for (long run = varint(columns[ACCOUNT]); run > 0; run--)
+                block.accounts[i++] = account;
+        }
+        long msb = 0;
+        for (int i = 0; i < n; i++) {
+            msb += zigzag(varint(columns[ID]));
+            block.ids[i] = new UUID(msb, columns[ID].getLong());
+            block.credits[i] = columns[DIRECTION].get() != 0;
+            block.amounts[i] = varint(columns[AMOUNT]);
+            block.createdMicros[i] = (msb >>> 16) * 1000 + zigzag(varint(columns[CREATED]));
+            if (reasons) {
+                int length = (int) varint(columns[REASON]);
+                if (length > 0) {
+                    var bytes = new byte[length - 1];
+                    columns[REASON].get(bytes);
+                    block.reasons[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return block;
+    }
+
+    private ByteBuffer inflate(ByteBuffer compressed, int size) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            var out = new byte[size];
+            int n = 0;
+            while (n < size && !inflater.finished()) {
+                int read = inflater.inflate(out, n, size - n);
+                if (read == 0 && inflater.needsInput())
+                    break;
+                n += read;
+            }
+            if (n != size)
+                throw new DataFormatException("column is " + n + " bytes, expected " + size);
+            return ByteBuffer.wrap(out);
+        } catch (DataFormatException ex) {
+            throw new UncheckedIOException(new IOException("Corrupt ledger segment " + file, ex));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** CRC32 of the bytes in [from, to) */
+    static int crc(ByteBuffer buffer, int from, int to) {
+        var crc = new CRC32();
+        crc.update(buffer.slice(from, to - from));
+        return (int) crc.getValue();
+    }
+
+    private static UUID uuid(ByteBuffer buffer, int at) {
+        return new UUID(buffer.getLong(at), buffer.getLong(at + 8));
+    }
+
+    private static long varint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private record Block(UUID[] accounts, UUID[] ids, boolean[] credits, long[] amounts, String[] reasons,
+            long[] createdMicros) {
+
+        LedgerEntryDto entry(int i) {
+            return LedgerEntryDto.builder()
+                .id(ids[i])
+                .accountId(accounts[i])
+                .direction(credits[i] ? "CREDIT" : "DEBIT")
+                .amount(BigDecimal.valueOf(amounts[i], SCALE))
+                .reason(reasons[i])
+                .createdAt(Instant.ofEpochSecond(Math.floorDiv(createdMicros[i], 1_000_000L),
+                    Math.floorMod(createdMicros[i], 1_000_000L) * 1000))
+                .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,261 @@
+package dev.aratax.example.archive;
+
+import static dev.aratax.example.archive.LedgerSegment.ACCOUNT;
+import static dev.aratax.example.archive.LedgerSegment.AMOUNT;
+import static dev.aratax.example.archive.LedgerSegment.COLUMNS;
+import static dev.aratax.example.archive.LedgerSegment.CREATED;
+import static dev.aratax.example.archive.LedgerSegment.DIRECTION;
+import static dev.aratax.example.archive.LedgerSegment.ID;
+import static dev.aratax.example.archive.LedgerSegment.REASON;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+
+/**
+ * Writes a {@link LedgerSegment} from rows appended in (account_id, id) order. The file is
+ * written under a temporary name and only renamed into place by {@link #publish()}, after
+ * {@link #finish()} put it on disk, so readers never see a partial segment and a crash
+ * leaves nothing behind that the next attempt does not overwrite. In between, the finished
+ * file can be opened from {@link #tmp()} and checked.
+ */
+final class LedgerSegmentWriter implements Closeable {
+
+    private final Path file;
+    private final Path tmp;
+    private final FileChannel channel;
+    private final int blockRows;
+    private final Column[] columns = new Column[COLUMNS];
+    private final List<UUID> firstAccounts = new ArrayList<>();
+    private final List<UUID> firstIds = new ArrayList<>();
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> crcs = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private long position;
+    private long rows;
+    private int blockSize;
+    private long previousMsb;
+    private UUID runAccount;
+    private long runLength;
+    private UUID lastAccount;
+    private UUID lastId;
+    private UUID minId;
+    private UUID maxId;
+    private boolean finished;
+    private boolean committed;
+
+    LedgerSegmentWriter(Path file, int blockRows) throws IOException {
+        this.file = file;
+        this.tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.blockRows = blockRows;
+        this.channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        for (int c = 0; c < COLUMNS; c++)
+            columns[c] = new Column();
+        write(ByteBuffer.allocate(4).putInt(LedgerSegment.MAGIC).flip());
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    Path tmp() {
+        return tmp;
+    }
+
+    void append(LedgerEntryDto entry) throws IOException {
+        var account = entry.getAccountId();
+        var id = entry.getId();
+        if (lastAccount != null && LedgerSegment.compare(lastAccount, lastId, account, id) >= 0)
+            throw new IllegalStateException("Ledger segment rows must be appended in (account_id, id) order");
+        lastAccount = account;
+        lastId = id;
+        if (minId == null || LedgerSegment.compare(id, minId) < 0)
+            minId = id;
+        if (maxId == null || LedgerSegment.compare(id, maxId) > 0)
+            maxId = id;
+
+        if (blockSize == 0) {
+            firstAccounts.add(account);
+            firstIds.add(id);
+            offsets.add(position);
+        }
+        if (!account.equals(runAccount)) {
+            endRun();
+            runAccount = account;
+        }
+        runLength++;
+
+        long msb = id.getMostSignificantBits();
+        columns[ID].varint(zigzag(msb - previousMsb));
+        columns[ID].int64(id.getLeastSignificantBits());
+        previousMsb = msb;
+        columns[DIRECTION].write(switch (entry.getDirection()) {
+            case "CREDIT" -> 1;
+            case "DEBIT" -> 0;
+            default -> throw new IllegalStateException("Unknown ledger direction " + entry.getDirection());
+        });
+        columns[AMOUNT].varint(entry.getAmount().setScale(LedgerSegment.SCALE).unscaledValue().longValueExact());
+        if (entry.getReason() == null) {
+            columns[REASON].varint(0);
+        } else {
+            var bytes = entry.getReason().getBytes(StandardCharsets.UTF_8);
+            columns[REASON].varint(bytes.length + 1L);
+            columns[REASON].writeBytes(bytes);
+        }
+        var createdAt = entry.getCreatedAt();
+        long micros = Math.addExact(Math.multiplyExact(createdAt.getEpochSecond(), 1_000_000L), createdAt.getNano() / 1000);
+        columns[CREATED].varint(zigzag(micros - (msb >>> 16) * 1000));
+
+        rows++;
+        if (++blockSize == blockRows)
+            endBlock();
+    }
+
+    /** Finishes the file under its temporary name and forces it to disk */
+    void finish() throws IOException {
+        if (blockSize > 0)
+            endBlock();
+        long index = position;
+        crc.reset();
+        var entry = ByteBuffer.allocate(LedgerSegment.INDEX_ENTRY_BYTES);
+        for (int b = 0; b < offsets.size(); b++) {
+            entry.clear();
+            putUuid(entry, firstAccounts.get(b));
+            putUuid(entry, firstIds.get(b));
+            write(entry.putLong(offsets.get(b)).putInt(crcs.get(b)).flip());
+        }
+        var footer = ByteBuffer.allocate(LedgerSegment.FOOTER_BYTES - 8).putLong(index).putInt(offsets.size())
+            .putLong(rows);
+        putUuid(footer, minId != null ? minId : new UUID(0, 0));
+        putUuid(footer, maxId != null ? maxId : new UUID(0, 0));
+        write(footer.flip());
+        write(ByteBuffer.allocate(8).putInt((int) crc.getValue()).putInt(LedgerSegment.MAGIC).flip());
+        // a larger file could not be mapped in one piece
+        if (position > Integer.MAX_VALUE)
+            throw new IOException("Ledger segment " + file + " is larger than 2 GiB");
+
+        channel.force(true);
+        channel.close();
+        finished = true;
+    }
+
+    /** Finishes the file, then moves it into place */
+    void commit() throws IOException {
+        finish();
+        publish();
+    }
+
+    /** Moves the finished file into place and forces its new name to disk */
+    void publish() throws IOException {
+        if (!finished)
+            throw new IllegalStateException("Ledger segment " + file + " is not finished");
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try (var dir = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committed)
+            return;
+        channel.close();
+        Files.deleteIfExists(tmp);
+    }
+
+    private void endRun() {
+        if (runAccount == null)
+            return;
+        putUuid(columns[ACCOUNT], runAccount);
+        columns[ACCOUNT].varint(runLength);
+        runAccount = null;
+        runLength = 0;
+    }
+
+    private void endBlock() throws IOException {
+        endRun();
+        crc.reset();
+        var compressed = new byte[COLUMNS][];
+        var header = ByteBuffer.allocate(4 + COLUMNS * 8).putInt(blockSize);
+        for (int c = 0; c < COLUMNS; c++) {
+            compressed[c] = columns[c].deflate();
+            header.putInt(compressed[c].length).putInt(columns[c].size());
+            columns[c].reset();
+        }
+        write(header.flip());
+        for (var column : compressed)
+            write(ByteBuffer.wrap(column));
+        crcs.add((int) crc.getValue());
+        blockSize = 0;
+        previousMsb = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining())
+            position += channel.write(buffer);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void putUuid(Column column, UUID uuid) {
+        column.int64(uuid.getMostSignificantBits());
+        column.int64(uuid.getLeastSignificantBits());
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /** One column of the current block */
+    private static final class Column extends ByteArrayOutputStream {
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void int64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8)
+                write((int) (value >>> shift));
+        }
+
+        byte[] deflate() {
+            var deflater = new Deflater();
+            try {
+                deflater.setInput(buf, 0, count);
+                deflater.finish();
+                var out = new ByteArrayOutputStream(Math.max(64, count / 2));
+                var chunk = new byte[8192];
+                while (!deflater.finished())
+                    out.write(chunk, 0, deflater.deflate(chunk));
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+    }
+
+}
@@ -1,24 +1,48 @@
 package dev.aratax.example.controller;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import dev.aratax.example.enums.Direction;
+import dev.aratax.example.enums.ExportFormat;
 import dev.aratax.example.model.po.Account;
 import dev.aratax.example.model.vo.ApiResponse;
+import dev.aratax.example.model.vo.BalanceAsOf;
+import dev.aratax.example.model.vo.BatchItemResult;
+import dev.aratax.example.model.vo.BatchTransactionRequest;
+import dev.aratax.example.model.vo.LedgerPage;
+import dev.aratax.example.model.vo.LedgerQuery;
 import dev.aratax.example.model.vo.OpenAccountRequest;
+import dev.aratax.example.model.vo.StripeRequest;
+import dev.aratax.example.model.vo.TransactionIntent;
 import dev.aratax.example.model.vo.TransactionRequest;
 import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.service.AccountEventService;
 import dev.aratax.example.service.AccountService;
+import dev.aratax.example.service.BatchTransactionService;
+import dev.aratax.example.service.IdempotencyService;
+import dev.aratax.example.service.LedgerExport;
+import dev.aratax.example.service.LedgerService;
+import dev.aratax.example.service.TransactionIntentService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,10 +51,24 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final AccountService accountService;
+    private final BatchTransactionService batchTransactionService;
+    private final IdempotencyService idempotencyService;
+    private final LedgerService ledgerService;
+    private final TransactionIntentService transactionIntentService;
+    private final AccountEventService accountEventService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, BatchTransactionService batchTransactionService,
+            IdempotencyService idempotencyService, LedgerService ledgerService,
+            TransactionIntentService transactionIntentService, AccountEventService accountEventService) {
         this.accountService = accountService;
+        this.batchTransactionService = batchTransactionService;
+        this.idempotencyService = idempotencyService;
+        this.ledgerService = ledgerService;
+        this.transactionIntentService = transactionIntentService;
+        this.accountEventService = accountEventService;
     }
 
     /**
@@ -38,13 +76,15 @@ public class AccountController {
      */
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TransactionResponse> openAccount(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody OpenAccountRequest request) {
         
-        TransactionResponse response = accountService.open(
-                request.getOwnerName(),
-                request.getCurrency(),
-                request.getInitialDeposit() != null ? request.getInitialDeposit() : BigDecimal.ZERO
-        );
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, "POST /api/accounts",
+            () -> accountService.open(
+                    request.getOwnerName(),
+                    request.getCurrency(),
+                    request.getInitialDeposit() != null ? request.getInitialDeposit() : BigDecimal.ZERO
+            ));
         
         return ResponseEntity.ok(response);
     }
@@ -60,16 +100,134 @@ public class AccountController {
             .body(new ApiResponse<>(HttpStatus.OK.value(), "Account retrieved successfully", account));
     }
 
+    /**
+     * Stream the account's balance as Server-Sent Events, the current one first, then after every committed write
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable UUID id) {
+        return accountEventService.subscribe(id);
+    }
+
+    /**
+     * List an account's ledger entries, newest first unless {@code order=asc}, one keyset page at a time
+     */
+    @GetMapping(value = "/{id}/ledger", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<LedgerPage>> ledger(
+            @PathVariable UUID id,
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Direction direction,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "desc") String order) {
+
+        var query = LedgerQuery.builder()
+            .cursor(cursor)
+            .direction(direction)
+            .from(from)
+            .to(to)
+            .ascending("asc".equalsIgnoreCase(order))
+            .build();
+        LedgerPage page = ledgerService.page(id, query, limit);
+        return ResponseEntity.ok()
+            .body(new ApiResponse<>(HttpStatus.OK.value(), "Ledger entries retrieved successfully", page));
+    }
+
+    /**
+     * Get an account's ledger balance as of an instant, now by default
+     */
+    @GetMapping(value = "/{id}/balance", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BalanceAsOf>> balance(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+
+        BalanceAsOf balance = ledgerService.balanceAsOf(id, asOf != null ? asOf : Instant.now());
+        return ResponseEntity.ok()
+            .body(new ApiResponse<>(HttpStatus.OK.value(), "Balance retrieved successfully", balance));
+    }
+
+    /**
+     * Stream an account's full ledger history, or the [from, to) part of it, as NDJSON or CSV
+     */
+    @GetMapping("/{id}/ledger/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportFormat exportFormat = LedgerController.parseFormat(format);
+        LedgerExport export = ledgerService.export(id, from, to, exportFormat);
+        return LedgerController.streaming(export, exportFormat, "ledger-" + id);
+    }
+
    /**
      * Convenience endpoint that wraps the transaction endpoint
      */
     @PostMapping(value = "/{id}/transaction", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TransactionResponse> transaction(
             @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody TransactionRequest request) {
 
-        TransactionResponse response = accountService.executeTransaction(id, request );
+        TransactionResponse response = idempotencyService.execute(idempotencyKey,
+            "POST /api/accounts/" + id + "/transaction", () -> accountService.executeTransaction(id, request));
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Queue a deposit or withdrawal and answer 202 at once; poll the Location for its outcome
+     */
+    @PostMapping(value = "/{id}/transaction", params = "async=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<TransactionIntent>> submitTransaction(
+            @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody TransactionRequest request) {
+
+        TransactionIntent intent = transactionIntentService.submit(id, idempotencyKey, request);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/accounts/" + id + "/transactions/" + intent.getId()))
+            .body(new ApiResponse<>(HttpStatus.ACCEPTED.value(), "Transaction accepted", intent));
+    }
+
+    /**
+     * Get a queued transaction's status, and its result once done
+     */
+    @GetMapping(value = "/{id}/transactions/{intentId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<TransactionIntent>> transactionStatus(
+            @PathVariable UUID id,
+            @PathVariable UUID intentId) {
+
+        TransactionIntent intent = transactionIntentService.find(id, intentId);
+        return ResponseEntity.ok()
+            .body(new ApiResponse<>(HttpStatus.OK.value(), "Transaction status retrieved successfully", intent));
+    }
+
+    /**
+     * Execute many deposits and withdrawals in one call, with a result per item
+     */
+    @PostMapping(value = "/transactions:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> batchTransaction(
+            @Valid @RequestBody BatchTransactionRequest request) {
+
+        List<BatchItemResult> results = batchTransactionService.execute(request.getItems());
+        long failed = results.stream().filter(r -> r.getError() != null).count();
+        String message = String.format("Batch processed: %d succeeded, %d failed", results.size() - failed, failed);
+        return ResponseEntity.ok()
+            .body(new ApiResponse<>(HttpStatus.OK.value(), message, results));
+    }
+
+    /**
+     * Mark an account as hot by spreading its balance across sub-balance rows (0 = regular account)
+     */
+    @PutMapping(value = "/{id}/stripes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Account>> stripe(
+            @PathVariable UUID id,
+            @Valid @RequestBody StripeRequest request) {
+
+        Account account = accountService.stripe(id, request.getStripes());
+        return ResponseEntity.ok()
+            .body(new ApiResponse<>(HttpStatus.OK.value(), "Account stripes updated successfully", account));
+    }
+
 }
@@ -0,0 +1,59 @@
+package dev.aratax.example.controller;
+
+import java.time.Instant;
+import java.util.Locale;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import dev.aratax.example.enums.ExportFormat;
+import dev.aratax.example.service.LedgerExport;
+import dev.aratax.example.service.LedgerService;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    public LedgerController(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    /**
+     * Stream every ledger entry created in [from, to), across all accounts, as NDJSON or CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportFormat exportFormat = parseFormat(format);
+        LedgerExport export = ledgerService.export(null, from, to, exportFormat);
+        return streaming(export, exportFormat, "ledger-" + from.toEpochMilli() + "-" + to.toEpochMilli());
+    }
+
+    static ExportFormat parseFormat(String format) {
+        return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    }
+
+    static ResponseEntity<StreamingResponseBody> streaming(LedgerExport export, ExportFormat format, String name) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString())
+            .body(export::writeTo);
+    }
+
+}
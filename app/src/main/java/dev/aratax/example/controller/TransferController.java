@@ -0,0 +1,33 @@
+package dev.aratax.example.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.aratax.example.model.vo.TransferRequest;
+import dev.aratax.example.model.vo.TransferResponse;
+import dev.aratax.example.service.TransferService;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/transfers")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    public TransferController(TransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    /**
+     * Debit one account and credit another in a single transaction
+     */
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return ResponseEntity.ok(transferService.transfer(request));
+    }
+
+}
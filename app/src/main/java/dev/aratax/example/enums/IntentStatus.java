@@ -0,0 +1,3 @@
+package dev.aratax.example.enums;
+
+public enum IntentStatus { PENDING, RUNNING, DONE, FAILED }
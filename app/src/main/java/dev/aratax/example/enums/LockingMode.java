@@ -1,4 +1,4 @@
 package dev.aratax.example.enums;
 
-public enum LockingMode { OPTIMISTIC, PESSIMISTIC }
+public enum LockingMode { OPTIMISTIC, PESSIMISTIC, SEQUENCED, GROUP_COMMIT, ATOMIC, AUTO, ADVISORY }
     
\ No newline at end of file
@@ -0,0 +1,22 @@
+package dev.aratax.example.exception;
+
+import java.util.UUID;
+
+public class AccountBusyException extends RuntimeException {
+    
+    private final UUID accountId;
+    
+    public AccountBusyException(UUID accountId, String reason) {
+        super(String.format("Account %s is busy: %s", accountId, reason));
+        this.accountId = accountId;
+    }
+    
+    public AccountBusyException(UUID accountId, String reason, Throwable cause) {
+        super(String.format("Account %s is busy: %s", accountId, reason), cause);
+        this.accountId = accountId;
+    }
+    
+    public UUID getAccountId() {
+        return accountId;
+    }
+}
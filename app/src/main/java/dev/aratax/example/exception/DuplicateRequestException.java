@@ -0,0 +1,15 @@
+package dev.aratax.example.exception;
+
+public class DuplicateRequestException extends RuntimeException {
+    
+    private final String idempotencyKey;
+    
+    public DuplicateRequestException(String idempotencyKey) {
+        super(String.format("A request with Idempotency-Key %s was already executed or is in progress", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,17 @@
+package dev.aratax.example.exception;
+
+import java.util.UUID;
+
+public class TransactionOutcomeUnknownException extends RuntimeException {
+    
+    private final UUID accountId;
+    
+    public TransactionOutcomeUnknownException(UUID accountId, Throwable cause) {
+        super(String.format("Transaction on account %s may or may not have been applied", accountId), cause);
+        this.accountId = accountId;
+    }
+    
+    public UUID getAccountId() {
+        return accountId;
+    }
+}
@@ -39,6 +39,10 @@ public class Account {
 
   @Column(name = "updated_at", columnDefinition = "timestamptz", nullable = false)
   private Instant updatedAt = Instant.now();
+
+  /** Number of {@link AccountStripe} sub-balances; 0 for a regular single-row account */
+  @Column(name = "stripe_count", nullable = false)
+  private int stripeCount;
   
   public void deposit(BigDecimal amt) { 
     this.balance = this.balance.add(amt); 
@@ -51,4 +55,17 @@ public class Account {
     this.balance = newBal;
   }
 
+  /** Detached copy reporting the given total, e.g. base plus stripes of a hot account */
+  public Account withBalance(BigDecimal total) {
+    var copy = new Account();
+    copy.id = this.id;
+    copy.ownerName = this.ownerName;
+    copy.currency = this.currency;
+    copy.balance = total;
+    copy.version = this.version;
+    copy.updatedAt = this.updatedAt;
+    copy.stripeCount = this.stripeCount;
+    return copy;
+  }
+
 }
@@ -0,0 +1,52 @@
+package dev.aratax.example.model.po;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One sub-balance of a hot account. The account's balance is the base row plus the
+ * sum of its stripes, so concurrent writers spread across N rows instead of one.
+ */
+@Data
+@Entity
+@IdClass(AccountStripe.Key.class)
+@Table(name = "account_stripes", schema = "app")
+public class AccountStripe {
+
+  @Id
+  @Column(name = "account_id")
+  private UUID accountId;
+
+  @Id
+  private int stripe;
+
+  @Column(nullable = false, precision = 18, scale = 2)
+  private BigDecimal balance = BigDecimal.ZERO;
+
+  public static AccountStripe of(UUID accountId, int stripe, BigDecimal balance) {
+    var record = new AccountStripe();
+    record.accountId = accountId;
+    record.stripe = stripe;
+    record.balance = balance;
+    return record;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private UUID accountId;
+    private int stripe;
+  }
+
+}
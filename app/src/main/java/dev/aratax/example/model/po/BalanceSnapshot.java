@@ -0,0 +1,50 @@
+package dev.aratax.example.model.po;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An account's ledger balance at a checkpoint: the net of every ledger entry whose id sorts
+ * below {@code boundaryId}, the smallest uuidv7 of {@code asOf}. Rows are only written for
+ * accounts with entries since their previous snapshot, each derived from that one.
+ */
+@Data
+@Entity
+@IdClass(BalanceSnapshot.Key.class)
+@Table(name = "balance_snapshots", schema = "app")
+public class BalanceSnapshot {
+
+  @Id
+  @Column(name = "account_id")
+  private UUID accountId;
+
+  @Id
+  @Column(name = "as_of", columnDefinition = "timestamptz")
+  private Instant asOf;
+
+  @Column(name = "boundary_id", nullable = false)
+  private UUID boundaryId;
+
+  @Column(nullable = false, precision = 18, scale = 2)
+  private BigDecimal balance;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private UUID accountId;
+    private Instant asOf;
+  }
+
+}
@@ -0,0 +1,37 @@
+package dev.aratax.example.model.po;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Response of a request executed under an {@code Idempotency-Key}, written in the same
+ * transaction as the ledger entry it describes.
+ */
+@Data
+@Entity
+@Table(name = "idempotency_keys", schema = "app")
+public class IdempotencyRecord {
+
+  @Id
+  @Column(name = "idempotency_key")
+  private String key;
+
+  @Column(nullable = false)
+  private String scope;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(nullable = false, columnDefinition = "jsonb")
+  private String response;
+
+  @Column(name = "created_at", columnDefinition = "timestamptz", nullable = false)
+  private Instant createdAt = Instant.now();
+
+}
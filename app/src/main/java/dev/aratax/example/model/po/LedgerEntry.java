@@ -4,9 +4,9 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
-import org.hibernate.annotations.UuidGenerator;
 import org.springframework.lang.NonNull;
 
+import dev.aratax.example.annotation.UuidV7Id;
 import dev.aratax.example.enums.Direction;
 import dev.aratax.example.enums.TransactionType;
 import jakarta.persistence.Column;
@@ -15,7 +15,6 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -27,12 +26,12 @@ import lombok.Data;
 @Entity
 @Table(name = "ledger_entries", schema = "app", 
   indexes = {
-    @Index(name = "idx_ledger_account", columnList = "account_id")
+    @Index(name = "idx_ledger_account_id", columnList = "account_id, id")
 })
 public class LedgerEntry {
 
   @Id
-  @GeneratedValue
+  @UuidV7Id
   @Column(columnDefinition = "UUID DEFAULT uuidv7()")
   private UUID id;
 
@@ -0,0 +1,30 @@
+package dev.aratax.example.model.vo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BalanceAsOf {
+
+    private UUID accountId;
+    private Instant asOf;
+    /** Net of every ledger entry created before {@code asOf} */
+    private BigDecimal balance;
+    /** Checkpoint the answer started from; absent when the account has no snapshot yet */
+    private Instant snapshotAsOf;
+    /** Ledger entries summed on top of the snapshot */
+    private long tailEntries;
+
+}
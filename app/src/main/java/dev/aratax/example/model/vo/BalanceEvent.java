@@ -0,0 +1,40 @@
+package dev.aratax.example.model.vo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import dev.aratax.example.model.po.Account;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceEvent {
+
+    private UUID accountId;
+    /** Total balance, stripes included */
+    private BigDecimal balance;
+    private String currency;
+    /** Account row version; striped writes leave it unchanged */
+    private long version;
+    private Instant updatedAt;
+    /** Newest ledger entry in the balance, the event id; null before the first entry */
+    private UUID lastEntryId;
+
+    public static BalanceEvent of(Account account, UUID lastEntryId) {
+        return BalanceEvent.builder()
+            .accountId(account.getId())
+            .balance(account.getBalance())
+            .currency(account.getCurrency())
+            .version(account.getVersion())
+            .updatedAt(account.getUpdatedAt())
+            .lastEntryId(lastEntryId)
+            .build();
+    }
+
+}
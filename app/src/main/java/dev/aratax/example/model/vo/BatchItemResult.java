@@ -0,0 +1,59 @@
+package dev.aratax.example.model.vo;
+
+import java.util.UUID;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    
+    private int index;             // position in the submitted batch
+    private UUID accountId;
+    private int code;              // HTTP status the item would have had on its own
+    private TransactionResponse transaction;
+    private String error;
+    
+    public static BatchItemResult success(int index, UUID accountId, TransactionResponse transaction) {
+        return BatchItemResult.builder()
+            .index(index)
+            .accountId(accountId)
+            .code(HttpStatus.OK.value())
+            .transaction(transaction)
+            .build();
+    }
+    
+    public static BatchItemResult failure(int index, UUID accountId, Exception ex) {
+        HttpStatus status;
+        if (ex instanceof AccountNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (ex instanceof InsufficientFundsException || ex instanceof IllegalStateException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+        } else if (ex instanceof OptimisticLockingFailureException) {
+            status = HttpStatus.CONFLICT;
+        } else if (ex instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return BatchItemResult.builder()
+            .index(index)
+            .accountId(accountId)
+            .code(status.value())
+            .error(ex.getMessage())
+            .build();
+    }
+}
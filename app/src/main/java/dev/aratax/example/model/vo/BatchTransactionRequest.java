@@ -0,0 +1,38 @@
+package dev.aratax.example.model.vo;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequest {
+    
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = 1000, message = "Batch cannot exceed 1000 items")
+    private List<@Valid @NotNull Item> items;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        @NotNull(message = "Account id is required")
+        private UUID accountId;
+        
+        @Valid
+        @NotNull(message = "Transaction is required")
+        private TransactionRequest transaction;
+    }
+}
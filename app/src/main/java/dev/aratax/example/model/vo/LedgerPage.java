@@ -0,0 +1,26 @@
+package dev.aratax.example.model.vo;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LedgerPage {
+    
+    private List<LedgerEntryDto> entries;
+    private boolean hasMore;
+    /** Pass back as {@code cursor} to fetch the next page; absent on the last page */
+    private UUID nextCursor;
+    
+}
@@ -0,0 +1,28 @@
+package dev.aratax.example.model.vo;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import dev.aratax.example.enums.Direction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters and position of one ledger page. {@code cursor} is the id of the last entry of
+ * the previous page; {@code from} is inclusive and {@code to} exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerQuery {
+    
+    private UUID cursor;
+    private Direction direction;
+    private Instant from;
+    private Instant to;
+    private boolean ascending;
+    
+}
@@ -0,0 +1,49 @@
+package dev.aratax.example.model.vo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReconciliationReport {
+
+    private UUID runId;
+    /** RUNNING, COMPLETED or FAILED; a RUNNING run that is not active was interrupted and can be resumed */
+    private String status;
+    /** Whether this replica is executing the run right now */
+    private boolean active;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private int chunks;
+    private int chunksDone;
+    private long accountsChecked;
+    private long mismatchCount;
+    /** The first mismatches in account id order, capped */
+    private List<Mismatch> mismatches;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mismatch {
+        private UUID accountId;
+        /** Base row plus stripes */
+        private BigDecimal balance;
+        /** Credits minus debits */
+        private BigDecimal ledgerBalance;
+        private Instant foundAt;
+    }
+
+}
@@ -0,0 +1,23 @@
+package dev.aratax.example.model.vo;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StripeRequest {
+    
+    // 0 folds every stripe back into the single account row
+    @NotNull(message = "Stripe count is required")
+    @Min(value = 0, message = "Stripe count cannot be negative")
+    @Max(value = 64, message = "Stripe count cannot exceed 64")
+    private Integer stripes;
+    
+}
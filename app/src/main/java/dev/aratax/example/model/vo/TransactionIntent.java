@@ -0,0 +1,38 @@
+package dev.aratax.example.model.vo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import dev.aratax.example.enums.IntentStatus;
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionIntent {
+
+    private UUID id;
+    private UUID accountId;
+    private TransactionType type;
+    private BigDecimal amount;
+    private LockingMode lockingMode;
+    private String reason;
+    private String idempotencyKey;
+    private IntentStatus status;
+    private int attempts;
+    private TransactionResponse result;   // set once DONE
+    private String error;                 // set once FAILED
+    private Instant createdAt;
+    private Instant completedAt;
+
+}
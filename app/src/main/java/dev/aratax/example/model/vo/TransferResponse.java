@@ -0,0 +1,38 @@
+package dev.aratax.example.model.vo;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import dev.aratax.example.model.vo.TransactionResponse.AccountVo;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferResponse {
+    
+    private String status;
+    private Instant timestamp;
+    private AccountVo from;
+    private AccountVo to;
+    private LedgerEntryDto debit;
+    private LedgerEntryDto credit;
+    
+    public static TransferResponse success(TransactionResponse debit, TransactionResponse credit) {
+        return TransferResponse.builder()
+            .status("SUCCESS")
+            .timestamp(Instant.now())
+            .from(debit.getAccount())
+            .to(credit.getAccount())
+            .debit(debit.getLedgerEntry())
+            .credit(credit.getLedgerEntry())
+            .build();
+    }
+}
@@ -0,0 +1,56 @@
+package dev.aratax.example.monitor;
+
+import java.util.UUID;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.model.vo.ReconciliationReport;
+import dev.aratax.example.service.ReconciliationService;
+
+/**
+ * {@code GET /actuator/reconciliation} reports the latest run, {@code GET .../{runId}} a given one.
+ * {@code POST} starts a run; with {@code {"resume": true}} it continues the latest unfinished run.
+ * It answers 409 while a run is active on any replica. Like every actuator endpoint it is served on
+ * {@code management.server.port}, which is not reachable through the API Service.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final ReconciliationService reconciliationService;
+
+    public ReconciliationEndpoint(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<ReconciliationReport> latest() {
+        return reconciliationService.report(null)
+            .map(WebEndpointResponse::new)
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<ReconciliationReport> run(@Selector UUID runId) {
+        return reconciliationService.report(runId)
+            .map(WebEndpointResponse::new)
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ReconciliationReport> start(@Nullable Boolean resume) {
+        try {
+            return new WebEndpointResponse<>(reconciliationService.start(Boolean.TRUE.equals(resume)),
+                WebEndpointResponse.STATUS_OK);
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(409);
+        }
+    }
+
+}
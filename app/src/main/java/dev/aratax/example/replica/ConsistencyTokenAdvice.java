@@ -0,0 +1,61 @@
+package dev.aratax.example.replica;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adds a {@value ReadConsistency#HEADER} to every successful write response. The body is
+ * written after the controller returned, so the write has committed and the primary's
+ * current WAL position is at or past its commit record.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+public class ConsistencyTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String CURRENT_LSN = "SELECT pg_current_wal_lsn()::text";
+
+    private final JdbcTemplate primary;
+
+    public ConsistencyTokenAdvice(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+            Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD
+                || !request.getURI().getPath().startsWith("/api/"))
+            return body;
+        if (response instanceof ServletServerHttpResponse servlet && servlet.getServletResponse().getStatus() >= 400)
+            return body;
+        try {
+            response.getHeaders().set(ReadConsistency.HEADER, primary.queryForObject(CURRENT_LSN, String.class));
+        } catch (RuntimeException ex) {
+            // the write has committed; without a token the client's next read may be stale
+            log.warn("Could not read the primary's WAL position for a consistency token", ex);
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,47 @@
+package dev.aratax.example.replica;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the {@value ReadConsistency#HEADER} a client sends with its reads to the request
+ * thread for {@link ReplicaRoutingDataSource}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var token = request.getHeader(ReadConsistency.HEADER);
+        if (token == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            ReadConsistency.bind(ReadConsistency.parse(token));
+        } catch (IllegalArgumentException ex) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Malformed " + ReadConsistency.HEADER);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package dev.aratax.example.replica;
+
+/**
+ * Read-your-writes token of the request executing on the current thread: the primary's WAL
+ * position after the client's last write, which a replica must have replayed before it may
+ * serve the client's reads. Tokens travel in the {@value #HEADER} header as PostgreSQL prints
+ * an LSN, e.g. {@code 16/B374D848}.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> MIN_LSN = new ThreadLocal<>();
+
+    private ReadConsistency() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * @return the LSN the request must read at or after, or {@code null} without a token
+     */
+    public static Long current() {
+        return MIN_LSN.get();
+    }
+
+    static void bind(long lsn) {
+        MIN_LSN.set(lsn);
+    }
+
+    static void clear() {
+        MIN_LSN.remove();
+    }
+
+    /** @throws IllegalArgumentException if the text is not an LSN */
+    public static long parse(String lsn) {
+        int sep = lsn.indexOf('/');
+        if (sep < 1 || sep == lsn.length() - 1)
+            throw new IllegalArgumentException("Not an LSN: " + lsn);
+        long high = Long.parseLong(lsn, 0, sep, 16);
+        long low = Long.parseLong(lsn, sep + 1, lsn.length(), 16);
+        if (high < 0 || high > 0xFFFFFFFFL || low < 0 || low > 0xFFFFFFFFL)
+            throw new IllegalArgumentException("Not an LSN: " + lsn);
+        return high << 32 | low;
+    }
+
+}
@@ -0,0 +1,87 @@
+package dev.aratax.example.replica;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls how far the replica has replayed the primary's WAL, on its own thread so routing
+ * decisions never wait for the replica. The replica counts as unavailable once the last
+ * successful poll is older than {@code max-staleness}; its reads then go to the primary.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    /** A replica pointed at a primary, e.g. in development, is never behind */
+    private static final String REPLAYED = "SELECT COALESCE(pg_last_wal_replay_lsn(), pg_current_wal_lsn())::text";
+
+    private final JdbcTemplate replica;
+    private final long maxStalenessNanos;
+    private final ScheduledExecutorService poller;
+    private volatile long replayed = -1;
+    private volatile long polledAt;
+    private volatile boolean reachable = true;
+
+    public ReplicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource, MeterRegistry registry,
+            @Value("${app.replica.poll-interval:100ms}") Duration pollInterval,
+            @Value("${app.replica.max-staleness:2s}") Duration maxStaleness) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout((int) Math.max(1, maxStaleness.toSeconds()));
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.poller = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        this.poller.scheduleWithFixedDelay(this::poll, 0, pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+        Gauge.builder("app.replica.poll.age", this, m -> m.replayed < 0 ? Double.NaN
+                : (System.nanoTime() - m.polledAt) / 1e9)
+            .description("Seconds since the replica's replay position was last read")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    public boolean isAvailable() {
+        return replayed >= 0 && System.nanoTime() - polledAt < maxStalenessNanos;
+    }
+
+    /** @return whether the replica had replayed past {@code lsn} at the last poll */
+    public boolean hasReplayed(long lsn) {
+        return replayed >= lsn;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private void poll() {
+        try {
+            replayed = ReadConsistency.parse(replica.queryForObject(REPLAYED, String.class));
+            polledAt = System.nanoTime();
+            if (!reachable) {
+                reachable = true;
+                log.info("Read replica reachable again");
+            }
+        } catch (RuntimeException ex) {
+            if (reachable) {
+                reachable = false;
+                log.warn("Read replica unreachable, reads fall back to the primary", ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package dev.aratax.example.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. A read-only
+ * transaction still goes to the primary when the replica is unavailable, or when the request
+ * carries a {@link ReadConsistency} token the replica has not replayed yet.
+ * <p>
+ * The read-only flag is only set once the transaction has begun, after a JPA transaction
+ * manager already asked for its connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the
+ * choice to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor monitor;
+    private final MeterProvider<Counter> reads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+            MeterRegistry registry) {
+        this.monitor = monitor;
+        this.reads = Counter.builder("app.replica.reads")
+            .description("Read-only transactions by route: replica, or primary because the replica was behind or unavailable")
+            .withRegistry(registry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return Target.PRIMARY;
+        if (!monitor.isAvailable()) {
+            reads.withTags("route", "unavailable").increment();
+            return Target.PRIMARY;
+        }
+        var minLsn = ReadConsistency.current();
+        if (minLsn != null && !monitor.hasReplayed(minLsn)) {
+            reads.withTags("route", "behind").increment();
+            return Target.PRIMARY;
+        }
+        reads.withTags("route", "replica").increment();
+        return Target.REPLICA;
+    }
+
+}
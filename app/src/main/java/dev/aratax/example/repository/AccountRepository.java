@@ -1,10 +1,14 @@
 package dev.aratax.example.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,6 +21,36 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("select a from Account a where a.id = :id")
   Optional<Account> findForUpdate(@Param("id") UUID id);
+
+  // Row locks on several accounts, always taken in id order so concurrent callers cannot deadlock
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Account a where a.id in :ids order by a.id")
+  List<Account> findAllForUpdate(@Param("ids") Collection<UUID> ids);
+
+  // In-place increment of the base balance, bumping the version for optimistic readers
+  @Modifying
+  @Query("update Account a set a.balance = a.balance + :amt, a.version = a.version + 1 where a.id = :id")
+  int credit(@Param("id") UUID id, @Param("amt") BigDecimal amt);
+
+  // Currency only, without loading the entity into the persistence context
+  @Query("select a.currency from Account a where a.id = :id")
+  Optional<String> findCurrency(@Param("id") UUID id);
+
+  // Base row plus every stripe in one statement, so both come from the same snapshot
+  @Query("select a.balance + coalesce((select sum(s.balance) from AccountStripe s where s.accountId = a.id), 0)"
+      + " from Account a where a.id = :id")
+  Optional<BigDecimal> findTotalBalance(@Param("id") UUID id);
+
+  @Query("select a.stripeCount from Account a where a.id = :id")
+  Optional<Integer> findStripeCount(@Param("id") UUID id);
+
+  // Accounts whose balance is split across sub-balance rows
+  @Query("select a.id as id, a.stripeCount as stripeCount from Account a where a.stripeCount > 0")
+  List<StripedAccount> findStriped();
+
+  interface StripedAccount {
+    UUID getId();
+    int getStripeCount();
+  }
   
 }
-
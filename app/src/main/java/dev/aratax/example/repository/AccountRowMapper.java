@@ -0,0 +1,33 @@
+package dev.aratax.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import dev.aratax.example.model.po.Account;
+
+/**
+ * Maps {@code app.accounts} columns read through plain JDBC (e.g. {@code RETURNING} clauses)
+ * to a detached {@link Account}.
+ */
+public class AccountRowMapper implements RowMapper<Account> {
+
+    public static final AccountRowMapper INSTANCE = new AccountRowMapper();
+
+    @Override
+    public Account mapRow(ResultSet rs, int rowNum) throws SQLException {
+        var account = new Account();
+        account.setId(rs.getObject("id", UUID.class));
+        account.setOwnerName(rs.getString("owner_name"));
+        account.setCurrency(rs.getString("currency"));
+        account.setBalance(rs.getBigDecimal("balance"));
+        account.setVersion(rs.getLong("version"));
+        account.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+        account.setStripeCount(rs.getInt("stripe_count"));
+        return account;
+    }
+
+}
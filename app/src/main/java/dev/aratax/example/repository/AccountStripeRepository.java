@@ -0,0 +1,39 @@
+package dev.aratax.example.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.aratax.example.model.po.AccountStripe;
+import jakarta.persistence.LockModeType;
+
+public interface AccountStripeRepository extends JpaRepository<AccountStripe, AccountStripe.Key> {
+
+  // Single-row increment, no read and no version check
+  @Modifying
+  @Query(value = "UPDATE app.account_stripes SET balance = balance + :amt WHERE account_id = :id AND stripe = :stripe",
+         nativeQuery = true)
+  int credit(@Param("id") UUID id, @Param("stripe") int stripe, @Param("amt") BigDecimal amt);
+
+  // Conditional decrement: updates nothing when the stripe cannot cover the amount
+  @Modifying
+  @Query(value = "UPDATE app.account_stripes SET balance = balance - :amt WHERE account_id = :id AND stripe = :stripe AND balance >= :amt",
+         nativeQuery = true)
+  int debit(@Param("id") UUID id, @Param("stripe") int stripe, @Param("amt") BigDecimal amt);
+
+  // Locks every stripe in stripe order (SELECT ... FOR UPDATE)
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from AccountStripe s where s.accountId = :id order by s.stripe")
+  List<AccountStripe> findAllForUpdate(@Param("id") UUID id);
+
+  @Modifying
+  @Query("delete from AccountStripe s where s.accountId = :id")
+  int deleteByAccountId(@Param("id") UUID id);
+
+}
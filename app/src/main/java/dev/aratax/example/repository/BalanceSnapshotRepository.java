@@ -0,0 +1,53 @@
+package dev.aratax.example.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.aratax.example.model.po.BalanceSnapshot;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+
+  // Transaction-scoped; false while another replica is taking a checkpoint
+  @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('app.balance_snapshots'))", nativeQuery = true)
+  boolean tryLock();
+
+  @Query("select max(s.asOf) from BalanceSnapshot s")
+  Optional<Instant> findLatestAsOf();
+
+  @Query(value = """
+      SELECT account_id, as_of, boundary_id, balance
+        FROM app.balance_snapshots
+       WHERE account_id = :id AND as_of <= :asOf
+       ORDER BY as_of DESC
+       LIMIT 1""", nativeQuery = true)
+  Optional<BalanceSnapshot> findLatest(@Param("id") UUID id, @Param("asOf") Instant asOf);
+
+  /**
+   * Rolls every account with ledger entries in [fromId, toId) forward from its latest
+   * snapshot. The id range is a primary key range scan, so the cost follows the number of
+   * entries since the previous checkpoint, not the size of the ledger.
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO app.balance_snapshots (account_id, as_of, boundary_id, balance)
+      SELECT d.account_id, :asOf, :toId, COALESCE(p.balance, 0) + d.delta
+        FROM (SELECT account_id,
+                     SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END) AS delta
+                FROM app.ledger_entries
+               WHERE id >= :fromId AND id < :toId
+               GROUP BY account_id) d
+        LEFT JOIN LATERAL (SELECT s.balance
+                             FROM app.balance_snapshots s
+                            WHERE s.account_id = d.account_id
+                            ORDER BY s.as_of DESC
+                            LIMIT 1) p ON true
+      ON CONFLICT DO NOTHING""", nativeQuery = true)
+  int rollForward(@Param("asOf") Instant asOf, @Param("fromId") UUID fromId, @Param("toId") UUID toId);
+
+}
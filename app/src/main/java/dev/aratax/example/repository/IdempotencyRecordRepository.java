@@ -0,0 +1,28 @@
+package dev.aratax.example.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.aratax.example.model.po.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  // 0 when the key is already taken; waits for a concurrent holder of the key to finish first
+  @Modifying
+  @Query(value = """
+      INSERT INTO app.idempotency_keys (idempotency_key, scope, response)
+      VALUES (:key, :scope, CAST(:response AS jsonb))
+      ON CONFLICT DO NOTHING""", nativeQuery = true)
+  int insertIfAbsent(@Param("key") String key, @Param("scope") String scope, @Param("response") String response);
+
+  @Transactional
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+  int deleteOlderThan(@Param("cutoff") Instant cutoff);
+
+}
@@ -1,9 +1,19 @@
 package dev.aratax.example.repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.aratax.example.model.po.LedgerEntry;
 
-public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> { }
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>, LedgerEntryRepositoryCustom {
+
+  // Newest entry of an account, one backward step on the (account_id, id) index of each partition
+  @Query(value = "SELECT id FROM app.ledger_entries WHERE account_id = :id ORDER BY id DESC LIMIT 1",
+         nativeQuery = true)
+  Optional<UUID> findLatestId(@Param("id") UUID accountId);
+
+}
@@ -0,0 +1,36 @@
+package dev.aratax.example.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+
+public interface LedgerEntryRepositoryCustom {
+
+  /** Widening of the id range around a time window; ids are stamped at or after created_at */
+  Duration ID_SLACK = Duration.ofMinutes(5);
+
+  // Keyset page in id order, read from the covering (account_id, id) index
+  List<LedgerEntryDto> findPage(UUID accountId, LedgerQuery query, int limit);
+
+  // Streams in id order through a server-side cursor; must run inside a transaction,
+  // otherwise the driver buffers the whole result. A null accountId covers every account.
+  void streamAll(UUID accountId, Instant from, Instant to, Consumer<LedgerEntryDto> sink);
+
+  // Net amount of an account's entries with id >= fromId created before asOf
+  Tail sumTail(UUID accountId, UUID fromId, Instant asOf);
+
+  record Tail(BigDecimal net, long entries) {
+
+    public Tail plus(Tail other) {
+      return new Tail(net.add(other.net), entries + other.entries);
+    }
+
+  }
+
+}
@@ -0,0 +1,130 @@
+package dev.aratax.example.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.util.UuidV7;
+
+/**
+ * Plain SQL so that only indexed columns are selected and the planner can answer a page with
+ * an index-only scan on {@code idx_ledger_account_id}: seek to the cursor, walk the index in
+ * id order, stop after {@code limit} rows. The cost of a page does not depend on its depth.
+ * Time windows are also bounded on id, which prunes the table's monthly partitions.
+ */
+public class LedgerEntryRepositoryCustomImpl implements LedgerEntryRepositoryCustom {
+
+  static final RowMapper<LedgerEntryDto> ENTRY = (rs, n) -> LedgerEntryDto.builder()
+      .id(rs.getObject("id", UUID.class))
+      .accountId(rs.getObject("account_id", UUID.class))
+      .direction(rs.getString("direction"))
+      .amount(rs.getBigDecimal("amount"))
+      .reason(rs.getString("reason"))
+      .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+      .build();
+
+  private static final String SUM_TAIL = """
+      SELECT COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END), 0) AS net,
+             COUNT(*) AS entries
+        FROM app.ledger_entries
+       WHERE account_id = :accountId AND id >= :fromId AND id < :toId AND created_at < :asOf""";
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final NamedParameterJdbcTemplate cursorJdbc;
+
+  public LedgerEntryRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc, DataSource dataSource,
+      @Value("${app.ledger.export-fetch-size:1000}") int fetchSize) {
+    this.jdbc = jdbc;
+    var template = new JdbcTemplate(dataSource);
+    template.setFetchSize(fetchSize);
+    this.cursorJdbc = new NamedParameterJdbcTemplate(template);
+  }
+
+  @Override
+  public List<LedgerEntryDto> findPage(UUID accountId, LedgerQuery query, int limit) {
+    var sql = new StringBuilder("""
+        SELECT id, account_id, direction, amount, reason, created_at
+          FROM app.ledger_entries
+         WHERE account_id = :accountId""");
+    var params = new MapSqlParameterSource("accountId", accountId).addValue("limit", limit);
+    if (query.getCursor() != null) {
+      sql.append(query.isAscending() ? " AND id > :cursor" : " AND id < :cursor");
+      params.addValue("cursor", query.getCursor());
+    }
+    if (query.getDirection() != null) {
+      sql.append(" AND direction = :direction");
+      params.addValue("direction", query.getDirection().name());
+    }
+    if (query.getFrom() != null) {
+      sql.append(" AND id >= :fromId AND created_at >= :from");
+      params.addValue("fromId", UuidV7.min(query.getFrom().minus(ID_SLACK).toEpochMilli()));
+      params.addValue("from", OffsetDateTime.ofInstant(query.getFrom(), ZoneOffset.UTC));
+    }
+    if (query.getTo() != null) {
+      sql.append(" AND id < :toId AND created_at < :to");
+      params.addValue("toId", UuidV7.min(query.getTo().plus(ID_SLACK).toEpochMilli()));
+      params.addValue("to", OffsetDateTime.ofInstant(query.getTo(), ZoneOffset.UTC));
+    }
+    sql.append(query.isAscending() ? " ORDER BY id ASC" : " ORDER BY id DESC").append(" LIMIT :limit");
+    return jdbc.query(sql.toString(), params, ENTRY);
+  }
+
+  /**
+   * A time window across accounts seeks on the primary key: the window is widened to a
+   * uuidv7 id range, then filtered exactly on created_at.
+   */
+  @Override
+  public void streamAll(UUID accountId, Instant from, Instant to, Consumer<LedgerEntryDto> sink) {
+    var sql = new StringBuilder("""
+        SELECT id, account_id, direction, amount, reason, created_at
+          FROM app.ledger_entries
+         WHERE true""");
+    var params = new MapSqlParameterSource();
+    if (accountId != null) {
+      sql.append(" AND account_id = :accountId");
+      params.addValue("accountId", accountId);
+    }
+    if (from != null) {
+      sql.append(" AND id >= :fromId AND created_at >= :from");
+      params.addValue("fromId", UuidV7.min(from.minus(ID_SLACK).toEpochMilli()));
+      params.addValue("from", OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+    }
+    if (to != null) {
+      sql.append(" AND id < :toId AND created_at < :to");
+      params.addValue("toId", UuidV7.min(to.plus(ID_SLACK).toEpochMilli()));
+      params.addValue("to", OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+    }
+    sql.append(" ORDER BY id");
+    cursorJdbc.query(sql.toString(), params, rs -> {
+      sink.accept(ENTRY.mapRow(rs, 0));
+    });
+  }
+
+  /**
+   * Walks the (account_id, id) index from fromId; the upper id bound stops the walk shortly
+   * after asOf instead of at the newest entry.
+   */
+  @Override
+  public Tail sumTail(UUID accountId, UUID fromId, Instant asOf) {
+    var params = new MapSqlParameterSource("accountId", accountId)
+        .addValue("fromId", fromId)
+        .addValue("toId", UuidV7.min(asOf.plus(ID_SLACK).toEpochMilli()))
+        .addValue("asOf", OffsetDateTime.ofInstant(asOf, ZoneOffset.UTC));
+    return jdbc.queryForObject(SUM_TAIL, params,
+        (rs, n) -> new Tail(rs.getBigDecimal("net"), rs.getLong("entries")));
+  }
+
+}
@@ -0,0 +1,159 @@
+package dev.aratax.example.repository;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.repository.LedgerEntryRepositoryCustom.Tail;
+import dev.aratax.example.util.UuidV7;
+
+/**
+ * DDL for the monthly partitions of {@code app.ledger_entries}. A month's partition holds the
+ * ids from the first uuidv7 of the month up to the first of the next, so every query that
+ * bounds {@code id}, as the ledger queries do for time windows, only touches the months it
+ * needs. Callers run each method in a transaction.
+ */
+@Repository
+public class LedgerPartitionRepository {
+
+  private static final String PREFIX = "ledger_entries_p";
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private static final String ATTACHED = """
+      SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+       WHERE i.inhparent = 'app.ledger_entries'::regclass AND c.relname LIKE 'ledger_entries_p%'""";
+
+  private static final String DETACHED = """
+      SELECT c.relname
+        FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+       WHERE n.nspname = 'app' AND c.relkind = 'r' AND NOT c.relispartition
+         AND c.relname LIKE 'ledger_entries_p%'
+       ORDER BY c.relname""";
+
+  private static final String SAVE_TOTALS = """
+      INSERT INTO app.ledger_detached_totals (account_id, partition_name, net, entries)
+      SELECT account_id, :name, SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END), COUNT(*)
+        FROM app.%s
+       GROUP BY account_id""";
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final JdbcTemplate cursorJdbc;
+
+  public LedgerPartitionRepository(NamedParameterJdbcTemplate jdbc, DataSource dataSource,
+      @Value("${app.ledger.export-fetch-size:1000}") int fetchSize) {
+    this.jdbc = jdbc;
+    this.cursorJdbc = new JdbcTemplate(dataSource);
+    this.cursorJdbc.setFetchSize(fetchSize);
+  }
+
+  public static String name(YearMonth month) {
+    return PREFIX + month.format(SUFFIX);
+  }
+
+  // Transaction-scoped; false while another replica is changing partitions
+  public boolean tryLock() {
+    return Boolean.TRUE.equals(jdbc.getJdbcTemplate().queryForObject(
+        "SELECT pg_try_advisory_xact_lock(hashtext('app.ledger_entries'))", Boolean.class));
+  }
+
+  /** Months with an attached partition */
+  public List<YearMonth> findAttached() {
+    return months(ATTACHED);
+  }
+
+  /** Months whose partition is detached but not yet dropped, oldest first */
+  public List<YearMonth> findDetached() {
+    return months(DETACHED);
+  }
+
+  /**
+   * Creates and attaches the month's partition. Rows that already landed in the default
+   * partition for that month move into it first, which attaching would otherwise refuse.
+   * A CHECK constraint matching the range lets ATTACH skip the scan that validates every
+   * row of the new table while the parent is locked; the bound enforces the same afterwards.
+   */
+  public void create(YearMonth month) {
+    var name = name(month);
+    var from = lowerBound(month);
+    var to = lowerBound(month.plusMonths(1));
+    var range = new MapSqlParameterSource("from", from).addValue("to", to);
+    var sql = jdbc.getJdbcTemplate();
+    sql.execute("CREATE TABLE app." + name + " (LIKE app.ledger_entries INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+    jdbc.update("INSERT INTO app." + name + " SELECT * FROM app.ledger_entries_default WHERE id >= :from AND id < :to",
+        range);
+    jdbc.update("DELETE FROM app.ledger_entries_default WHERE id >= :from AND id < :to", range);
+    sql.execute("ALTER TABLE app." + name + " ADD CONSTRAINT " + name + "_bounds"
+        + " CHECK (id IS NOT NULL AND id >= '" + from + "' AND id < '" + to + "')");
+    sql.execute("ALTER TABLE app.ledger_entries ATTACH PARTITION app." + name
+        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    sql.execute("ALTER TABLE app." + name + " DROP CONSTRAINT " + name + "_bounds");
+  }
+
+  /**
+   * Records the partition's per-account totals and detaches it. The table stays in the
+   * schema, out of every ledger query, until it is archived or dropped.
+   */
+  public void detach(YearMonth month) {
+    var name = name(month);
+    jdbc.update(SAVE_TOTALS.formatted(name), new MapSqlParameterSource("name", name));
+    jdbc.getJdbcTemplate().execute("ALTER TABLE app.ledger_entries DETACH PARTITION app." + name);
+  }
+
+  /**
+   * Streams a detached partition in (account_id, id) order through a server-side cursor;
+   * must run inside a transaction
+   */
+  public void streamDetached(YearMonth month, Consumer<LedgerEntryDto> sink) {
+    cursorJdbc.query("""
+        SELECT id, account_id, direction, amount, reason, created_at
+          FROM app.%s
+         ORDER BY account_id, id""".formatted(name(month)), rs -> {
+      sink.accept(LedgerEntryRepositoryCustomImpl.ENTRY.mapRow(rs, 0));
+    });
+  }
+
+  /** Per-account totals saved when the month was detached */
+  public Map<UUID, Tail> findDetachedTotals(YearMonth month) {
+    var totals = new HashMap<UUID, Tail>();
+    jdbc.query("SELECT account_id, net, entries FROM app.ledger_detached_totals WHERE partition_name = :name",
+        new MapSqlParameterSource("name", name(month)),
+        rs -> {
+          totals.put(rs.getObject("account_id", UUID.class), new Tail(rs.getBigDecimal("net"), rs.getLong("entries")));
+        });
+    return totals;
+  }
+
+  public void drop(YearMonth month) {
+    jdbc.getJdbcTemplate().execute("DROP TABLE app." + name(month));
+  }
+
+  public void setLockTimeout(long millis) {
+    jdbc.getJdbcTemplate().execute("SET LOCAL lock_timeout = " + millis);
+  }
+
+  private List<YearMonth> months(String sql) {
+    return jdbc.getJdbcTemplate().queryForList(sql, String.class).stream()
+        .map(name -> YearMonth.parse(name.substring(PREFIX.length()), SUFFIX))
+        .toList();
+  }
+
+  static UUID lowerBound(YearMonth month) {
+    return UuidV7.min(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+  }
+
+}
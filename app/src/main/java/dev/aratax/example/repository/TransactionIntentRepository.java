@@ -0,0 +1,220 @@
+package dev.aratax.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.aratax.example.enums.IntentStatus;
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.model.vo.TransactionIntent;
+import dev.aratax.example.model.vo.TransactionResponse;
+
+/**
+ * Plain SQL over {@code app.transaction_intents}. Every statement runs on its own and
+ * auto-commits; the claim is a single {@code UPDATE ... RETURNING} whose row locks last only
+ * as long as that statement.
+ */
+@Repository
+public class TransactionIntentRepository {
+
+    public static final String CHANNEL = "transaction_intent";
+
+    private static final String COLUMNS = """
+        id, account_id, type, amount, locking_mode, reason, idempotency_key, status, attempts,
+        result, error, created_at, completed_at""";
+
+    private static final String INSERT = """
+        INSERT INTO app.transaction_intents (account_id, type, amount, locking_mode, reason, idempotency_key)
+        VALUES (:accountId, :type, :amount, :lockingMode, :reason, :idempotencyKey)
+        ON CONFLICT (idempotency_key) DO NOTHING
+     RETURNING """ + COLUMNS;
+
+    /**
+     * A head is the oldest open intent of its account. Locking heads with SKIP LOCKED hands each
+     * account to one worker; its later intents are not heads while the head is PENDING or
+     * RUNNING, so no other worker can take them out of order.
+     */
+    private static final String CLAIM = """
+        WITH heads AS (
+            SELECT h.account_id
+              FROM app.transaction_intents h
+             WHERE h.status = 'PENDING' AND h.available_at <= now()
+               AND NOT EXISTS (SELECT 1 FROM app.transaction_intents p
+                                WHERE p.account_id = h.account_id
+                                  AND p.status IN ('PENDING', 'RUNNING') AND p.id < h.id)
+             ORDER BY h.id
+             LIMIT :limit
+               FOR UPDATE OF h SKIP LOCKED
+        ), claimed AS (
+            SELECT i.id
+              FROM app.transaction_intents i JOIN heads USING (account_id)
+             WHERE i.status = 'PENDING'
+             ORDER BY i.account_id, i.id
+             LIMIT :limit
+        )
+        UPDATE app.transaction_intents t
+           SET status = 'RUNNING', claimed_at = now()
+          FROM claimed
+         WHERE t.id = claimed.id
+     RETURNING """ + prefixed("t");
+
+    private static final String COMPLETE = """
+        UPDATE app.transaction_intents
+           SET status = :status, result = CAST(:result AS jsonb), error = :error, completed_at = now()
+         WHERE id = :id""";
+
+    private static final String REQUEUE = """
+        UPDATE app.transaction_intents
+           SET status = 'PENDING', claimed_at = NULL,
+               attempts = attempts + CASE WHEN id = :failedId THEN 1 ELSE 0 END,
+               available_at = now() + CAST(:delay AS interval)
+         WHERE id IN (:ids)""";
+
+    private static final String RELEASE = """
+        UPDATE app.transaction_intents
+           SET status = 'PENDING', claimed_at = NULL
+         WHERE id IN (:ids)""";
+
+    private static final String RECOVER = """
+        WITH expired AS (
+            UPDATE app.transaction_intents
+               SET status = 'PENDING', claimed_at = NULL
+             WHERE status = 'RUNNING' AND claimed_at < now() - CAST(:lease AS interval)
+         RETURNING id
+        )
+        SELECT count(*) AS recovered, pg_notify('""" + CHANNEL + "', '') FROM expired";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public TransactionIntentRepository(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    /** @return the stored intent, or empty when its idempotency key is already taken */
+    public Optional<TransactionIntent> insert(TransactionIntent intent) {
+        var params = new MapSqlParameterSource()
+            .addValue("accountId", intent.getAccountId())
+            .addValue("type", intent.getType().name())
+            .addValue("amount", intent.getAmount())
+            .addValue("lockingMode", intent.getLockingMode().name())
+            .addValue("reason", intent.getReason(), Types.VARCHAR)
+            .addValue("idempotencyKey", intent.getIdempotencyKey(), Types.VARCHAR);
+        return jdbc.query(INSERT, params, this::map).stream().findFirst();
+    }
+
+    public Optional<TransactionIntent> findById(UUID id) {
+        return jdbc.query("SELECT " + COLUMNS + " FROM app.transaction_intents WHERE id = :id",
+            new MapSqlParameterSource("id", id), this::map).stream().findFirst();
+    }
+
+    public Optional<TransactionIntent> findByIdempotencyKey(String key) {
+        return jdbc.query("SELECT " + COLUMNS + " FROM app.transaction_intents WHERE idempotency_key = :key",
+            new MapSqlParameterSource("key", key), this::map).stream().findFirst();
+    }
+
+    /** Marks up to {@code limit} intents RUNNING, whole accounts first, and returns them unordered */
+    public List<TransactionIntent> claim(int limit) {
+        return jdbc.query(CLAIM, new MapSqlParameterSource("limit", limit), this::map);
+    }
+
+    public void complete(UUID id, TransactionResponse result) {
+        jdbc.update(COMPLETE, new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("status", IntentStatus.DONE.name())
+            .addValue("result", toJson(result))
+            .addValue("error", null, Types.VARCHAR));
+    }
+
+    public void fail(UUID id, String error) {
+        jdbc.update(COMPLETE, new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("status", IntentStatus.FAILED.name())
+            .addValue("result", null, Types.VARCHAR)
+            .addValue("error", error, Types.VARCHAR));
+    }
+
+    /** Puts claimed intents back; only {@code failedId} counts the attempt */
+    public void requeue(UUID failedId, Collection<UUID> ids, Duration delay) {
+        jdbc.update(REQUEUE, new MapSqlParameterSource()
+            .addValue("failedId", failedId)
+            .addValue("ids", ids)
+            .addValue("delay", delay.toMillis() + " milliseconds"));
+    }
+
+    /** Puts claimed intents back untried, e.g. on shutdown */
+    public void release(Collection<UUID> ids) {
+        jdbc.update(RELEASE, new MapSqlParameterSource("ids", ids));
+    }
+
+    /** Returns intents whose worker disappeared to the queue and wakes the workers */
+    public int recoverExpired(Duration lease) {
+        Integer recovered = jdbc.queryForObject(RECOVER,
+            new MapSqlParameterSource("lease", lease.toMillis() + " milliseconds"), (rs, n) -> rs.getInt(1));
+        return recovered == null ? 0 : recovered;
+    }
+
+    public int deleteCompletedBefore(Instant cutoff) {
+        return jdbc.update("DELETE FROM app.transaction_intents WHERE completed_at < :cutoff",
+            new MapSqlParameterSource("cutoff", cutoff.atOffset(ZoneOffset.UTC)));
+    }
+
+    private TransactionIntent map(ResultSet rs, int rowNum) throws SQLException {
+        var completedAt = rs.getObject("completed_at", OffsetDateTime.class);
+        return TransactionIntent.builder()
+            .id(rs.getObject("id", UUID.class))
+            .accountId(rs.getObject("account_id", UUID.class))
+            .type(TransactionType.valueOf(rs.getString("type")))
+            .amount(rs.getBigDecimal("amount"))
+            .lockingMode(LockingMode.valueOf(rs.getString("locking_mode")))
+            .reason(rs.getString("reason"))
+            .idempotencyKey(rs.getString("idempotency_key"))
+            .status(IntentStatus.valueOf(rs.getString("status")))
+            .attempts(rs.getInt("attempts"))
+            .result(fromJson(rs.getString("result")))
+            .error(rs.getString("error"))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+            .completedAt(completedAt != null ? completedAt.toInstant() : null)
+            .build();
+    }
+
+    private static String prefixed(String alias) {
+        return alias + "." + COLUMNS.replace("\n", " ").replaceAll(",\\s*", ", " + alias + ".");
+    }
+
+    private TransactionResponse fromJson(String json) {
+        if (json == null)
+            return null;
+        try {
+            return objectMapper.readValue(json, TransactionResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored intent result is unreadable", ex);
+        }
+    }
+
+    private String toJson(TransactionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response cannot be serialized", ex);
+        }
+    }
+
+}
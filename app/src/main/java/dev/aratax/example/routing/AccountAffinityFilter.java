@@ -0,0 +1,288 @@
+package dev.aratax.example.routing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import dev.aratax.example.enums.RoutingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends {@code /api/accounts/{id}} and everything below it to the replica that owns the
+ * account on the {@link ReplicaMembership} ring, so one JVM sees all traffic for an account
+ * and its in-pod gates and lanes replace cross-pod version conflicts. FORWARD proxies the
+ * request and streams the owner's response back; REDIRECT answers 307, which keeps method
+ * and body, for clients that can reach the replicas directly.
+ * <p>
+ * A request that was already routed once is always served locally, so replicas that briefly
+ * disagree about the ring cannot bounce it around. The {@value #ROUTED_HEADER} header saying so
+ * is signed with the shared {@code app.routing.secret}; a header a client made up is ignored
+ * and the request is routed like any other. If the owner cannot be connected to, the request
+ * is served here as well; routing is an optimization, the database still guards every write.
+ * Once the request may have reached the owner it is never served here too: a timeout answers
+ * 504 and any other failure 502, since the owner may already have applied it.
+ * Event streams are always served locally: every replica hears every account change.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.routing.enabled", havingValue = "true")
+public class AccountAffinityFilter extends OncePerRequestFilter {
+
+    public static final String ROUTED_HEADER = "X-Routed-By";
+
+    private static final Pattern ACCOUNT_PATH = Pattern.compile(
+        "^/api/accounts/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(/.*)?$");
+
+    private static final String EVENTS_PATH = "/events";
+
+    private static final String HMAC = "HmacSHA256";
+
+    /** How old a routed header may be; covers clock skew between replicas, not the forward time */
+    private static final Duration MAX_SIGNATURE_AGE = Duration.ofMinutes(1);
+
+    /** Hop-by-hop headers, and those {@link HttpClient} sets itself and refuses to take */
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+        "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect");
+
+    private final ReplicaMembership membership;
+    private final RoutingMode mode;
+    private final Duration timeout;
+    private final HttpClient http;
+    private final MeterProvider<Counter> requests;
+    private final SecretKeySpec key;
+
+    public AccountAffinityFilter(ReplicaMembership membership, MeterRegistry registry,
+            @Value("${app.routing.mode:FORWARD}") RoutingMode mode,
+            @Value("${app.routing.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${app.routing.forward-timeout:30s}") Duration timeout,
+            @Value("${app.routing.secret:}") String secret) {
+        if (secret.isBlank())
+            throw new IllegalArgumentException("app.routing.secret is required when routing is enabled");
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC);
+        this.membership = membership;
+        this.mode = mode;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout)
+            .build();
+        this.requests = Counter.builder("app.routing.requests")
+            .description("Account requests by where they were served: local, forwarded, redirected, fallback or failed")
+            .withRegistry(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/accounts/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var matcher = ACCOUNT_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches() || EVENTS_PATH.equals(matcher.group(2)) || isRouted(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var owner = membership.owner(UUID.fromString(matcher.group(1)));
+        if (owner == null || membership.isSelf(owner)) {
+            requests.withTags("outcome", "local").increment();
+            chain.doFilter(request, response);
+            return;
+        }
+        var target = owner + request.getRequestURI()
+            + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (mode == RoutingMode.REDIRECT) {
+            requests.withTags("outcome", "redirected").increment();
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = http.send(forwardRequest(request, target, body), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (ConnectException | HttpConnectTimeoutException ex) {
+            // never reached the owner, so serving it here cannot apply it twice
+            log.warn("Could not connect to {}, serving locally: {}", owner, ex.toString());
+            requests.withTags("outcome", "fallback").increment();
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        } catch (IOException ex) {
+            log.warn("Forwarding to {} failed after the request may have reached it: {}", owner, ex.toString());
+            requests.withTags("outcome", "failed").increment();
+            response.sendError(ex instanceof HttpTimeoutException
+                ? HttpStatus.GATEWAY_TIMEOUT.value() : HttpStatus.BAD_GATEWAY.value(),
+                "Forwarding to the account's replica failed; its outcome is unknown");
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while forwarding to " + owner, ex);
+        }
+        requests.withTags("outcome", "forwarded").increment();
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT)))
+                values.forEach(value -> response.addHeader(name, value));
+        });
+        try (InputStream in = forwarded.body()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    private HttpRequest forwardRequest(HttpServletRequest request, String target, byte[] body) {
+        var builder = HttpRequest.newBuilder(URI.create(target))
+            .timeout(timeout)
+            .method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT)) || ROUTED_HEADER.equalsIgnoreCase(name))
+                continue;
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        return builder.header(ROUTED_HEADER, sign(request.getMethod(), request.getRequestURI())).build();
+    }
+
+    /** {@code <sender> <epoch seconds> <HMAC of method, path and time>} */
+    String sign(String method, String path) {
+        long now = Instant.now().getEpochSecond();
+        return membership.self() + " " + now + " " + mac(method, path, now);
+    }
+
+    boolean isRouted(HttpServletRequest request) {
+        var value = request.getHeader(ROUTED_HEADER);
+        if (value == null)
+            return false;
+        var parts = value.split(" ");
+        try {
+            if (parts.length == 3) {
+                long signedAt = Long.parseLong(parts[1]);
+                if (Math.abs(Instant.now().getEpochSecond() - signedAt) <= MAX_SIGNATURE_AGE.toSeconds()
+                        && MessageDigest.isEqual(parts[2].getBytes(StandardCharsets.UTF_8),
+                            mac(request.getMethod(), request.getRequestURI(), signedAt).getBytes(StandardCharsets.UTF_8)))
+                    return true;
+            }
+        } catch (NumberFormatException ex) {
+            // malformed, treated like a missing signature
+        }
+        log.debug("Ignoring unsigned {} header {}", ROUTED_HEADER, value);
+        return false;
+    }
+
+    private String mac(String method, String path, long epochSecond) {
+        try {
+            var mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            var signed = mac.doFinal((method + " " + path + " " + epochSecond).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signed);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(HMAC + " is not available", ex);
+        }
+    }
+
+    /** Replays a body that was already read for a forward that did not happen */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The whole body is in memory, so it is available, then read, right away */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished())
+                            listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+    }
+
+}
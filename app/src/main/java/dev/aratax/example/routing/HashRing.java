@@ -0,0 +1,67 @@
+package dev.aratax.example.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Immutable consistent-hash ring of replica base URLs. Each member owns
+ * {@code virtualNodes} points on a 64-bit ring and an account belongs to the first point at
+ * or after its hash. The hashes depend only on the member strings, so every replica that
+ * sees the same members computes the same owners, and a member joining or leaving moves
+ * only the ranges next to its own points.
+ */
+public final class HashRing {
+
+    private final TreeMap<Long, String> points = new TreeMap<>();
+    private final Set<String> members;
+
+    public HashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /** @return the member owning the account, or {@code null} when the ring is empty */
+    public String owner(UUID accountId) {
+        if (points.isEmpty())
+            return null;
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(accountId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    public Set<String> members() {
+        return members;
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    /** FNV-1a, then the murmur3 finalizer to spread similar member names around the ring */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
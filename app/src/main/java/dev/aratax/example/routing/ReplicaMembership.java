@@ -0,0 +1,101 @@
+package dev.aratax.example.routing;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Current set of replicas, as base URLs such as {@code http://10.244.1.7:8080}, and the
+ * {@link HashRing} built from it. Members come from a static {@code app.routing.peers} list
+ * (several local instances on different ports) and from the addresses a headless Service
+ * name resolves to ({@code app.routing.dns-name}), re-read every refresh interval. This
+ * replica is always a member, so it keeps serving its own range while DNS catches up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.routing.enabled", havingValue = "true")
+public class ReplicaMembership {
+
+    private final String self;
+    private final List<String> peers;
+    private final String dnsName;
+    private final int port;
+    private final int virtualNodes;
+    private volatile HashRing ring;
+
+    public ReplicaMembership(MeterRegistry registry,
+            @Value("${app.routing.self}") String self,
+            @Value("${app.routing.peers:}") String peers,
+            @Value("${app.routing.dns-name:}") String dnsName,
+            @Value("${app.routing.port:8080}") int port,
+            @Value("${app.routing.virtual-nodes:64}") int virtualNodes) {
+        if (self.isBlank())
+            throw new IllegalArgumentException("app.routing.self is required when routing is enabled");
+        this.self = normalize(self);
+        this.peers = Arrays.stream(peers.split(",")).map(String::trim).filter(p -> !p.isEmpty())
+            .map(ReplicaMembership::normalize).toList();
+        this.dnsName = dnsName;
+        this.port = port;
+        this.virtualNodes = virtualNodes;
+        refresh();
+        Gauge.builder("app.routing.members", this, m -> m.ring.members().size())
+            .description("Replicas on the account routing ring")
+            .register(registry);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public boolean isSelf(String member) {
+        return self.equals(member);
+    }
+
+    /** @return the base URL of the replica owning the account */
+    public String owner(UUID accountId) {
+        return ring.owner(accountId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.routing.refresh-interval:10s}")
+    void refresh() {
+        var members = new TreeSet<String>(peers);
+        members.add(self);
+        if (!dnsName.isBlank()) {
+            try {
+                for (InetAddress address : InetAddress.getAllByName(dnsName)) {
+                    var host = address instanceof Inet6Address ? "[" + address.getHostAddress() + "]"
+                        : address.getHostAddress();
+                    members.add("http://" + host + ":" + port);
+                }
+            } catch (UnknownHostException ex) {
+                // keep the previous DNS members rather than pulling every range onto this replica
+                log.warn("Could not resolve {}: {}", dnsName, ex.getMessage());
+                if (ring != null)
+                    return;
+            }
+        }
+        var current = ring;
+        if (current == null || !current.members().equals(members)) {
+            log.info("Account routing ring members: {}", members);
+            ring = new HashRing(members, virtualNodes);
+        }
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+}
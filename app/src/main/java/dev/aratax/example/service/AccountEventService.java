@@ -0,0 +1,17 @@
+package dev.aratax.example.service;
+
+import java.util.UUID;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AccountEventService {
+
+    /**
+     * Opens a stream that starts with the account's current balance and then receives a
+     * {@code balance} event after writes committed on any replica, coalesced per flush interval.
+     * @throws dev.aratax.example.exception.AccountNotFoundException if the account does not exist
+     * @throws java.util.concurrent.RejectedExecutionException if this replica has no room for another stream
+     */
+    SseEmitter subscribe(UUID accountId);
+
+}
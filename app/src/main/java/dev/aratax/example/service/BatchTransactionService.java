@@ -0,0 +1,12 @@
+package dev.aratax.example.service;
+
+import java.util.List;
+
+import dev.aratax.example.model.vo.BatchItemResult;
+import dev.aratax.example.model.vo.BatchTransactionRequest;
+
+public interface BatchTransactionService {
+
+    List<BatchItemResult> execute(List<BatchTransactionRequest.Item> items);
+
+}
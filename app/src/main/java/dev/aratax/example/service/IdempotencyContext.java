@@ -0,0 +1,39 @@
+package dev.aratax.example.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Idempotency key of the request executing on the current thread. Work handed to another
+ * thread (sequencer lanes, group committers) captures {@link #current()} when it is queued.
+ */
+public final class IdempotencyContext {
+
+    public record Key(String key, String scope) {}
+
+    private static final ThreadLocal<Key> CURRENT = new ThreadLocal<>();
+
+    private IdempotencyContext() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * @return the key bound to this thread, or {@code null} for requests without one
+     */
+    public static Key current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callWith(Key key, Supplier<T> action) {
+        var previous = CURRENT.get();
+        CURRENT.set(key);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+}
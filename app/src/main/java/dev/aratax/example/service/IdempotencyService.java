@@ -0,0 +1,28 @@
+package dev.aratax.example.service;
+
+import java.util.function.Supplier;
+
+import dev.aratax.example.model.vo.TransactionResponse;
+
+public interface IdempotencyService {
+
+    /**
+     * Returns the stored response for a repeated key, otherwise runs the action with the key
+     * bound to {@link IdempotencyContext}. A {@code null} key just runs the action.
+     */
+    TransactionResponse execute(String key, String scope, Supplier<TransactionResponse> action);
+
+    /**
+     * Stores the response under the key bound to this thread, joining the caller's transaction.
+     * Does nothing without a bound key.
+     * @throws dev.aratax.example.exception.DuplicateRequestException if the key is already taken
+     */
+    void record(TransactionResponse response);
+
+    /**
+     * Stores the response under an explicit key, joining the caller's transaction.
+     * @return {@code false} if the key is already taken
+     */
+    boolean tryRecord(IdempotencyContext.Key key, TransactionResponse response);
+
+}
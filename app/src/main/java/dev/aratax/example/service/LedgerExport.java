@@ -0,0 +1,14 @@
+package dev.aratax.example.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared export, written once to the response body
+ */
+@FunctionalInterface
+public interface LedgerExport {
+
+    void writeTo(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,24 @@
+package dev.aratax.example.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import dev.aratax.example.enums.ExportFormat;
+import dev.aratax.example.model.vo.BalanceAsOf;
+import dev.aratax.example.model.vo.LedgerPage;
+import dev.aratax.example.model.vo.LedgerQuery;
+
+public interface LedgerService {
+
+    LedgerPage page(UUID accountId, LedgerQuery query, int limit);
+
+    /**
+     * Validates and reserves an export slot; the rows are read when the export is written.
+     * A null accountId exports the [from, to) window across all accounts.
+     */
+    LedgerExport export(UUID accountId, Instant from, Instant to, ExportFormat format);
+
+    /** Ledger balance over the entries created before asOf */
+    BalanceAsOf balanceAsOf(UUID accountId, Instant asOf);
+
+}
@@ -0,0 +1,19 @@
+package dev.aratax.example.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import dev.aratax.example.model.vo.ReconciliationReport;
+
+public interface ReconciliationService {
+
+    /**
+     * Starts a run in the background, or with resume picks up the latest unfinished one
+     * where it stopped. Throws IllegalStateException while a run is active on this replica.
+     */
+    ReconciliationReport start(boolean resume);
+
+    /** Progress and mismatches of the given run, or of the latest one when runId is null */
+    Optional<ReconciliationReport> report(UUID runId);
+
+}
@@ -0,0 +1,22 @@
+package dev.aratax.example.service;
+
+import java.util.UUID;
+
+import dev.aratax.example.model.vo.TransactionIntent;
+import dev.aratax.example.model.vo.TransactionRequest;
+
+public interface TransactionIntentService {
+
+    /**
+     * Queues a deposit or withdrawal for the intent workers. A repeated {@code Idempotency-Key}
+     * returns the intent it queued first instead of queuing another.
+     * @throws dev.aratax.example.exception.AccountNotFoundException if the account does not exist
+     */
+    TransactionIntent submit(UUID accountId, String idempotencyKey, TransactionRequest request);
+
+    /**
+     * @throws java.util.NoSuchElementException if the account has no such intent
+     */
+    TransactionIntent find(UUID accountId, UUID intentId);
+
+}
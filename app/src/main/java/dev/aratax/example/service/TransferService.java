@@ -0,0 +1,10 @@
+package dev.aratax.example.service;
+
+import dev.aratax.example.model.vo.TransferRequest;
+import dev.aratax.example.model.vo.TransferResponse;
+
+public interface TransferService {
+
+    TransferResponse transfer(TransferRequest request);
+
+}
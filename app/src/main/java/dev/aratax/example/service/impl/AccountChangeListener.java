@@ -0,0 +1,120 @@
+package dev.aratax.example.service.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds one dedicated connection, outside the Hikari pool, on {@code LISTEN account_changed}
+ * and fans the notifications out to every {@link Subscriber} in this replica. The channel is
+ * fed by triggers on {@code app.accounts} and {@code app.account_stripes}, so every writer
+ * publishes in its own transaction and the notification is only delivered once that
+ * transaction commits. Notifications sent
+ * while the connection is down are lost; subscribers are told to resync after a reconnect.
+ */
+@Slf4j
+@Component
+public class AccountChangeListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "account_changed";
+
+    /** Receives committed account row changes from any replica */
+    public interface Subscriber {
+
+        void changed(UUID accountId, long version);
+
+        /** Called when notifications may have been missed, e.g. after a reconnect */
+        void resync();
+
+    }
+
+    private final DataSourceProperties dataSource;
+    private final List<Subscriber> subscribers;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private volatile Thread thread;
+
+    public AccountChangeListener(DataSourceProperties dataSource, List<Subscriber> subscribers,
+            @Value("${app.account-changes.poll-timeout:1s}") Duration pollTimeout,
+            @Value("${app.account-changes.reconnect-delay:2s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.subscribers = subscribers;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        thread = Thread.ofPlatform().name("account-change-listener").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        var t = thread;
+        thread = null;
+        if (t != null)
+            t.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSource.determineUrl(), dataSource.determineUsername(), dataSource.determinePassword())) {
+                conn.createStatement().execute("LISTEN " + CHANNEL);
+                log.info("Listening for account changes on channel {}", CHANNEL);
+                subscribers.forEach(Subscriber::resync);
+                var pg = conn.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pg.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null)
+                        dispatch(notifications);
+                }
+            } catch (SQLException ex) {
+                if (Thread.currentThread().isInterrupted())
+                    return;
+                log.warn("Account change listener lost its connection, reconnecting in {}", reconnectDelay, ex);
+                subscribers.forEach(Subscriber::resync);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /** Payload is {@code <account id>:<version>} */
+    private void dispatch(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int sep = payload.indexOf(':');
+            try {
+                var id = UUID.fromString(payload.substring(0, sep));
+                long version = Long.parseLong(payload.substring(sep + 1));
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.changed(id, version);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Ignoring malformed {} payload: {}", CHANNEL, payload, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package dev.aratax.example.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.model.vo.BalanceEvent;
+import dev.aratax.example.service.AccountEventService;
+import dev.aratax.example.service.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Events of account balances, fed by the one {@link AccountChangeListener}
+ * connection of this replica rather than a connection per stream. A notification only marks
+ * the account dirty with the newest version seen; a single flusher thread reads each dirty
+ * account once per {@code flush-interval} and sends the result to all of its streams, so a
+ * burst of writes costs one read and one event per stream. A replica read that still returns
+ * an older version than notified keeps the account dirty for the next flush; striped accounts,
+ * whose version does not move, are read on the primary. Events carry the newest ledger entry
+ * id of the balance as their id, which changes with every committed entry.
+ */
+@Slf4j
+@Service
+public class AccountEventServiceImpl implements AccountEventService, AccountChangeListener.Subscriber {
+
+    private static final String EVENT = "balance";
+
+    private final AccountService accountService;
+    private final Duration timeout;
+    private final int maxStreams;
+    private final ConcurrentHashMap<UUID, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    /** Accounts to send, with the newest version notified */
+    private final ConcurrentHashMap<UUID, Long> dirty = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    private final Counter sent;
+
+    public AccountEventServiceImpl(AccountService accountService, MeterRegistry registry,
+            @Value("${app.account-events.flush-interval:100ms}") Duration flushInterval,
+            @Value("${app.account-events.heartbeat:15s}") Duration heartbeat,
+            @Value("${app.account-events.timeout:30m}") Duration timeout,
+            @Value("${app.account-events.max-streams:1000}") int maxStreams) {
+        this.accountService = accountService;
+        this.timeout = timeout;
+        this.maxStreams = maxStreams;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("account-events").daemon().factory());
+        this.flusher.scheduleWithFixedDelay(this::flush,
+            flushInterval.toNanos(), flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        this.flusher.scheduleWithFixedDelay(this::heartbeat,
+            heartbeat.toNanos(), heartbeat.toNanos(), TimeUnit.NANOSECONDS);
+        this.sent = Counter.builder("app.account-events.sent")
+            .description("Balance events written to streams")
+            .register(registry);
+        Gauge.builder("app.account-events.streams", open, AtomicInteger::get)
+            .description("Open balance event streams on this replica")
+            .register(registry);
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID accountId) {
+        if (open.incrementAndGet() > maxStreams) {
+            open.decrementAndGet();
+            throw new RejectedExecutionException("Too many open event streams, at most " + maxStreams);
+        }
+        var emitter = new SseEmitter(timeout.toMillis());
+        streams.compute(accountId, (id, emitters) -> {
+            var set = emitters != null ? emitters : ConcurrentHashMap.<SseEmitter>newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        // registered before the first read, so a write committed in between marks the account dirty
+        BalanceEvent event;
+        try {
+            event = accountService.balance(accountId);
+        } catch (RuntimeException ex) {
+            close(accountId, emitter);
+            throw ex;
+        }
+        emitter.onCompletion(() -> close(accountId, emitter));
+        emitter.onTimeout(() -> close(accountId, emitter));
+        emitter.onError(ex -> close(accountId, emitter));
+        send(accountId, emitter, event);
+        return emitter;
+    }
+
+    @Override
+    public void changed(UUID accountId, long version) {
+        if (streams.containsKey(accountId))
+            dirty.merge(accountId, version, Math::max);
+    }
+
+    @Override
+    public void resync() {
+        streams.keySet().forEach(id -> dirty.merge(id, 0L, Math::max));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        streams.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    void flush() {
+        for (UUID id : dirty.keySet()) {
+            Long version = dirty.remove(id);
+            var emitters = streams.get(id);
+            if (version == null || emitters == null)
+                continue;
+            BalanceEvent event;
+            try {
+                event = accountService.balance(id);
+            } catch (AccountNotFoundException ex) {
+                emitters.forEach(SseEmitter::complete);
+                continue;
+            } catch (RuntimeException ex) {
+                log.warn("Could not read account {} for its event streams", id, ex);
+                dirty.merge(id, version, Math::max);
+                continue;
+            }
+            if (event.getVersion() < version) {
+                dirty.merge(id, version, Math::max);
+                continue;
+            }
+            for (SseEmitter emitter : emitters) {
+                send(id, emitter, event);
+            }
+        }
+    }
+
+    /** Keeps idle streams open through proxies and finds clients that went away */
+    private void heartbeat() {
+        streams.forEach((id, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException ex) {
+                close(id, emitter);
+            }
+        }));
+    }
+
+    private void send(UUID accountId, SseEmitter emitter, BalanceEvent event) {
+        try {
+            var builder = SseEmitter.event().name(EVENT);
+            if (event.getLastEntryId() != null)
+                builder.id(event.getLastEntryId().toString());
+            emitter.send(builder.data(event, MediaType.APPLICATION_JSON));
+            sent.increment();
+        } catch (IOException | IllegalStateException ex) {
+            // client went away; the container completes the emitter
+            close(accountId, emitter);
+        }
+    }
+
+    private void close(UUID accountId, SseEmitter emitter) {
+        streams.computeIfPresent(accountId, (id, emitters) -> {
+            if (emitters.remove(emitter))
+                open.decrementAndGet();
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+}
@@ -0,0 +1,103 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.util.BoundedCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through cache of regular (unstriped) accounts. Entries carry the row version they
+ * were read at and are dropped when {@link AccountChangeListener} reports a newer version
+ * from any replica. The TTL bounds staleness when a notification is lost. A newer version
+ * seen while a load was in flight is remembered, so that load cannot repopulate the entry
+ * with the older row. Striped accounts are not cached: their balance moves without the
+ * account row changing.
+ */
+@Component
+public class AccountReadCache implements AccountChangeListener.Subscriber {
+
+    private final boolean enabled;
+    private final BoundedCache<UUID, Account> accounts;
+    private final BoundedCache<UUID, Long> invalidated;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public AccountReadCache(MeterRegistry registry,
+            @Value("${app.account-cache.enabled:true}") boolean enabled,
+            @Value("${app.account-cache.max-size:10000}") int maxSize,
+            @Value("${app.account-cache.max-staleness:5s}") Duration maxStaleness) {
+        this.enabled = enabled;
+        this.accounts = new BoundedCache<>(maxSize, maxStaleness);
+        this.invalidated = new BoundedCache<>(maxSize, maxStaleness);
+        this.hits = Counter.builder("app.account-cache.gets").tag("result", "hit")
+            .description("Account reads served from the cache")
+            .register(registry);
+        this.misses = Counter.builder("app.account-cache.gets").tag("result", "miss")
+            .description("Account reads that went to the database")
+            .register(registry);
+        this.invalidations = Counter.builder("app.account-cache.evictions").tag("cause", "invalidated")
+            .description("Entries dropped because the account changed")
+            .register(registry);
+        FunctionCounter.builder("app.account-cache.evictions", accounts, BoundedCache::evictions)
+            .tag("cause", "expired-or-size")
+            .description("Entries dropped by TTL or size bound")
+            .register(registry);
+        Gauge.builder("app.account-cache.size", accounts, BoundedCache::size)
+            .description("Accounts currently cached")
+            .register(registry);
+    }
+
+    /**
+     * @return a copy of the cached account, or of the one the loader read
+     */
+    public Account get(UUID id, Function<UUID, Account> loader) {
+        if (!enabled)
+            return loader.apply(id);
+        var cached = accounts.get(id);
+        if (cached != null) {
+            hits.increment();
+            return copy(cached);
+        }
+        misses.increment();
+        var loaded = loader.apply(id);
+        if (loaded.getStripeCount() == 0) {
+            accounts.put(id, copy(loaded));
+            // checked after the put: changed() records the version before it looks for the
+            // entry, so a notification either finds the entry or is seen here
+            var newer = invalidated.get(id);
+            if (newer != null && loaded.getVersion() < newer)
+                accounts.remove(id);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void changed(UUID accountId, long version) {
+        if (!enabled)
+            return;
+        invalidated.put(accountId, version);
+        var cached = accounts.get(accountId);
+        if (cached != null && cached.getVersion() < version && accounts.remove(accountId))
+            invalidations.increment();
+    }
+
+    @Override
+    public void resync() {
+        accounts.clear();
+    }
+
+    private static Account copy(Account account) {
+        return account.withBalance(account.getBalance());
+    }
+
+}
@@ -2,24 +2,39 @@ package dev.aratax.example.service.impl;
 
 import java.math.BigDecimal;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import dev.aratax.example.enums.LockingMode;
 import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
 import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.DuplicateRequestException;
+import dev.aratax.example.exception.InsufficientFundsException;
 import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.AccountStripe;
 import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.BalanceEvent;
 import dev.aratax.example.model.vo.TransactionRequest;
 import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.replica.ReadConsistency;
 import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.AccountStripeRepository;
 import dev.aratax.example.repository.LedgerEntryRepository;
 import dev.aratax.example.service.AccountService;
 import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,26 +42,153 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class AccountServiceImpl implements AccountService {
   
-  private static final int MAX_RETRIES = 5;    
-  
   private final AccountRepository accountRepo;
   private final LedgerEntryRepository ledgerRepo;
   @Resource(name= OptimsticAccountTransactionImpl.BEAN_ID)
   private AccountTransaction optimsticAccountTransaction;
   @Resource(name= PessimisticAccountTransactionImpl.BEAN_ID)
   private AccountTransaction pessimisticAccountTransaction;
+  @Resource(name= SequencedAccountTransactionImpl.BEAN_ID)
+  private AccountTransaction sequencedAccountTransaction;
+  @Resource(name= GroupCommitAccountTransactionImpl.BEAN_ID)
+  private AccountTransaction groupCommitAccountTransaction;
+  @Resource(name= AtomicAccountTransactionImpl.BEAN_ID)
+  private AccountTransaction atomicAccountTransaction;
+  @Resource(name= AdvisoryAccountTransactionImpl.BEAN_ID)
+  private AccountTransaction advisoryAccountTransaction;
+  @Resource(name= StripedAccountTransactionImpl.BEAN_ID)
+  private AccountTransaction stripedAccountTransaction;
+  @Resource
+  private AccountStripeRepository stripeRepo;
+  @Resource
+  private StripedAccountRegistry stripedAccounts;
+  @Resource
+  private IdempotencyService idempotency;
+  @Resource
+  private ContentionTracker contention;
+  @Resource
+  private AccountAdmissionGate admission;
+
+  @Resource
+  private AccountReadCache accountCache;
+  private TransactionTemplate readTemplate;
+  private TransactionTemplate snapshotTemplate;
+  private TransactionTemplate primarySnapshotTemplate;
+  private MeterProvider<Timer> transactionTimers;
+  private MeterProvider<Counter> optimisticRetries;
+  private MeterProvider<Counter> optimisticExhausted;
+  private MeterProvider<Counter> autoRouted;
 
   public AccountServiceImpl(AccountRepository accountRepo, LedgerEntryRepository ledgerRepo) {
     this.accountRepo =  accountRepo;
     this.ledgerRepo = ledgerRepo;
   }
 
+  @Resource
+  void setTransactionManager(PlatformTransactionManager txManager) {
+    this.readTemplate = new TransactionTemplate(txManager);
+    this.readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    this.readTemplate.setReadOnly(true);
+    // one snapshot for the row, the stripe total and the newest entry, so the entry id names the balance
+    this.snapshotTemplate = new TransactionTemplate(txManager);
+    this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.snapshotTemplate.setReadOnly(true);
+    this.primarySnapshotTemplate = new TransactionTemplate(txManager);
+    this.primarySnapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  @Resource
+  void setMeterRegistry(MeterRegistry registry) {
+    this.transactionTimers = Timer.builder("app.transaction")
+        .description("Deposit and withdrawal latency, including optimistic retries and lane queueing")
+        .publishPercentileHistogram()
+        .withRegistry(registry);
+    this.optimisticRetries = Counter.builder("app.transaction.optimistic.retries")
+        .description("Optimistic attempts that lost a version check and were retried")
+        .withRegistry(registry);
+    this.optimisticExhausted = Counter.builder("app.transaction.optimistic.exhausted")
+        .description("Optimistic transactions that failed after the last retry")
+        .withRegistry(registry);
+    this.autoRouted = Counter.builder("app.transaction.auto")
+        .description("AUTO transactions by the mode they ran in; escalated ones switched to PESSIMISTIC after a conflict")
+        .withRegistry(registry);
+  }
+
+  /** Served from the read cache when possible; no transaction or pooled connection on a hit */
   @Override
-  @Transactional(isolation = Isolation.READ_COMMITTED)
   public Account find(UUID id) {
+    // a client reading its own write must not get a cached row the change notification has not reached yet
+    if (ReadConsistency.current() != null)
+      return load(id);
+    return accountCache.get(id, this::load);
+  }
+
+  private Account load(UUID id) {
     log.debug("Finding account with id: {}", id);
-    return accountRepo.findById(id)
+    return readTemplate.execute(status -> {
+      var account = accountRepo.findById(id)
+            .orElseThrow(() -> new AccountNotFoundException(id));
+      if (account.getStripeCount() == 0)
+        return account;
+      return account.withBalance(accountRepo.findTotalBalance(id)
+            .orElseThrow(() -> new AccountNotFoundException(id)));
+    });
+  }
+
+  /**
+   * Bypasses the read cache. Striped accounts are read on the primary: stripe writes leave the
+   * account version alone, so a total from a lagging replica could not be told from a current one.
+   */
+  @Override
+  public BalanceEvent balance(UUID id) {
+    if (!stripedAccounts.isStriped(id)) {
+      var event = snapshotTemplate.execute(status -> readBalance(id, false));
+      if (event != null)
+        return event;
+    }
+    return primarySnapshotTemplate.execute(status -> readBalance(id, true));
+  }
+
+  /** @return null for a striped account unless striped, i.e. the registry had not seen it yet */
+  private BalanceEvent readBalance(UUID id, boolean striped) {
+    var account = accountRepo.findById(id)
+          .orElseThrow(() -> new AccountNotFoundException(id));
+    if (account.getStripeCount() > 0) {
+      if (!striped)
+        return null;
+      account = account.withBalance(accountRepo.findTotalBalance(id)
+            .orElseThrow(() -> new AccountNotFoundException(id)));
+    }
+    return BalanceEvent.of(account, ledgerRepo.findLatestId(id).orElse(null));
+  }
+
+  @Override
+  @Transactional(isolation = Isolation.READ_COMMITTED)
+  public Account stripe(UUID id, int stripes) {
+    // stripes before the base row, the same order StripedAccountTransactionImpl uses
+    var parts = stripeRepo.findAllForUpdate(id);
+    var account = accountRepo.findForUpdate(id)
           .orElseThrow(() -> new AccountNotFoundException(id));
+    var total = parts.stream().map(AccountStripe::getBalance).reduce(account.getBalance(), BigDecimal::add);
+    if (stripes == 0) {
+      stripeRepo.deleteAll(parts);
+      account.setBalance(total);
+    } else {
+      account.setBalance(BigDecimal.ZERO);
+      for (int i = 0; i < stripes; i++) {
+        var share = StripedAccountTransactionImpl.share(total, stripes, i);
+        if (i < parts.size())
+          parts.get(i).setBalance(share);
+        else
+          stripeRepo.save(AccountStripe.of(id, i, share));
+      }
+      if (parts.size() > stripes)
+        stripeRepo.deleteAll(parts.subList(stripes, parts.size()));
+    }
+    account.setStripeCount(stripes);
+    stripedAccounts.update(id, stripes);
+    log.info("Account {} now spread across {} stripes, total {}", id, stripes, total);
+    return account.withBalance(total);
   }
 
   @Override
@@ -61,7 +203,9 @@ public class AccountServiceImpl implements AccountService {
     if (seed != null && seed.signum() > 0) {
       ledgerEntry = ledgerRepo.save(LedgerEntry.of(account, TransactionType.DEPOSIT, seed, "OPEN_ACCOUNT_SEED"));
     }
-    return TransactionResponse.success(saved, ledgerEntry);
+    var response = TransactionResponse.success(saved, ledgerEntry);
+    idempotency.record(response);
+    return response;
   }
 
   @Override
@@ -89,37 +233,97 @@ public class AccountServiceImpl implements AccountService {
 
   private TransactionResponse executeWithLock(UUID id, TransactionType type, BigDecimal amt,
                                LockingMode mode, String reason) {
-    return LockingMode.PESSIMISTIC.equals(mode) ? depositOrWithdrawPessimistic(id, type, amt, reason) : 
-              depositOrWithdrawOptimistic(id, type, amt, reason);
+    var effective = stripedAccounts.isStriped(id) ? null : mode == null ? LockingMode.OPTIMISTIC : mode;
+    boolean auto = effective == LockingMode.AUTO;
+    if (auto) {
+      effective = contention.choose(id);
+      autoRouted.withTags("mode", effective.name()).increment();
+    }
+    long start = System.nanoTime();
+    String outcome = "success";
+    try {
+      if (effective == null)
+        return stripedAccountTransaction.execute(id, type, amt, reason);
+      try {
+        return execute(effective, id, type, amt, reason, auto);
+      } catch (InsufficientFundsException ex) {
+        // another replica may have striped the account since the registry last refreshed,
+        // leaving the funds in stripes that only the striped path withdraws from
+        if (!stripedAccounts.refresh(id))
+          throw ex;
+        effective = null;
+        return stripedAccountTransaction.execute(id, type, amt, reason);
+      }
+    } catch (RuntimeException ex) {
+      outcome = outcome(ex);
+      throw ex;
+    } finally {
+      transactionTimers.withTags("mode", effective == null ? "STRIPED" : effective.name(),
+          "type", type.name(), "outcome", outcome)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
 
+  private TransactionResponse execute(LockingMode mode, UUID id, TransactionType type, BigDecimal amt,
+                                      String reason, boolean auto) {
+    return switch (mode) {
+      case PESSIMISTIC -> depositOrWithdrawPessimistic(id, type, amt, reason);
+      case SEQUENCED -> sequencedAccountTransaction.execute(id, type, amt, reason);
+      case GROUP_COMMIT -> groupCommitAccountTransaction.execute(id, type, amt, reason);
+      case ATOMIC -> atomicAccountTransaction.execute(id, type, amt, reason);
+      case ADVISORY -> advisoryAccountTransaction.execute(id, type, amt, reason);
+      case OPTIMISTIC -> depositOrWithdrawOptimistic(id, type, amt, reason, auto);
+      case AUTO -> throw new IllegalStateException("AUTO is resolved above");
+    };
+  }
+
+  private static String outcome(RuntimeException ex) {
+    if (ex instanceof InsufficientFundsException)
+      return "insufficient_funds";
+    if (ex instanceof AccountNotFoundException)
+      return "not_found";
+    if (ex instanceof OptimisticLockingFailureException)
+      return "conflict";
+    if (ex instanceof AccountBusyException)
+      return "busy";
+    if (ex instanceof DuplicateRequestException)
+      return "duplicate";
+    return "error";
   }
 
   protected TransactionResponse depositOrWithdrawPessimistic(UUID id, TransactionType type, BigDecimal amt, String reason) {
-   return optimsticAccountTransaction.execute(id, type, amt, reason);
+   return pessimisticAccountTransaction.execute(id, type, amt, reason);
   }
 
-  protected TransactionResponse depositOrWithdrawOptimistic(UUID id,TransactionType type, BigDecimal amt, String reason) {
+  /**
+   * Each attempt passes the {@link AccountAdmissionGate} first and leaves it after commit, so
+   * same-pod attempts on one account do not race each other for the version.
+   * With {@code escalate} (an AUTO transaction) a conflict that makes the account contended
+   * ends the retry loop: the transaction runs once more under a row lock instead of sleeping.
+   */
+  protected TransactionResponse depositOrWithdrawOptimistic(UUID id,TransactionType type, BigDecimal amt, String reason,
+                                                            boolean escalate) {
     int attempt = 0;
     while (true) {
       try {
-        return optimsticAccountTransaction.execute(id, type, amt, reason);
+        return admission.call(id, () -> optimsticAccountTransaction.execute(id, type, amt, reason));
       } catch (OptimisticLockingFailureException ex) {
-        log.warn("OptimistiLockingException-uuid:{}, type:{}, amt:{}, reason:{}", id, type, amt, reason);
-        if (++attempt > MAX_RETRIES) 
+        contention.conflict(id);
+        if (escalate && contention.isContended(id)) {
+          autoRouted.withTags("mode", "ESCALATED").increment();
+          log.debug("Escalating to pessimistic-uuid:{}, type:{}, amt:{}, attempt:{}", id, type, amt, attempt + 1);
+          return depositOrWithdrawPessimistic(id, type, amt, reason);
+        }
+        if (++attempt > OptimisticBackoff.MAX_RETRIES) {
+          optimisticExhausted.withTags("type", type.name()).increment();
+          log.warn("Optimistic retries exhausted-uuid:{}, type:{}, amt:{}, reason:{}", id, type, amt, reason);
           throw ex;
-        sleepJitter(attempt);
+        }
+        optimisticRetries.withTags("type", type.name()).increment();
+        log.debug("OptimistiLockingException-uuid:{}, type:{}, amt:{}, reason:{}", id, type, amt, reason);
+        OptimisticBackoff.sleep(attempt);
       }
     }
   }
 
-
-  private void sleepJitter(int attempt) {
-    try {
-      long backoffMs = Math.min(100L * attempt, 1200L);
-      Thread.sleep(backoffMs + ThreadLocalRandom.current().nextLong(60));
-    } catch (InterruptedException ignored) { 
-      Thread.currentThread().interrupt(); 
-    }
-  }
-
 }
@@ -0,0 +1,85 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.annotation.InjectJitter;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyService;
+
+/**
+ * Serializes writers of an account on a transaction-scoped advisory lock keyed by a 64-bit
+ * hash of its id, instead of on the row. Waiters queue in the lock manager and never touch
+ * the tuple, so no {@code SELECT ... FOR UPDATE} marks it and autovacuum and HOT updates are
+ * not held up by a queue of row lockers. The balance then moves with a guarded in-place
+ * {@code UPDATE}, without a version check; the version is still bumped for optimistic
+ * writers in other modes.
+ * <p>
+ * With a positive {@code app.advisory.lock-timeout} the wait is bounded by a transaction-local
+ * {@code lock_timeout} and a caller that runs out of time gets {@link AccountBusyException};
+ * zero waits as long as it takes.
+ */
+@Service(AdvisoryAccountTransactionImpl.BEAN_ID)
+public class AdvisoryAccountTransactionImpl implements AccountTransaction {
+
+    public static final String BEAN_ID = "advisoryAccountTransactionImpl";
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(:key)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate txTemplate;
+    private final IdempotencyService idempotency;
+    private final long lockTimeoutMillis;
+
+    public AdvisoryAccountTransactionImpl(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager,
+            IdempotencyService idempotency,
+            @Value("${app.advisory.lock-timeout:2s}") Duration lockTimeout) {
+        this.jdbc = jdbc;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.idempotency = idempotency;
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+    }
+
+    @InjectJitter
+    @Override
+    public TransactionResponse execute(UUID id, TransactionType type, BigDecimal amt, String reason) {
+        try {
+            return txTemplate.execute(status -> {
+                lock(id);
+                var response = GuardedUpdate.apply(jdbc, id, type, amt, reason);
+                idempotency.record(response);
+                return response;
+            });
+        } catch (CannotAcquireLockException ex) {
+            throw new AccountBusyException(id, "advisory lock not acquired within " + lockTimeoutMillis + " ms", ex);
+        }
+    }
+
+    /** Same key on every replica; held until the surrounding transaction ends */
+    static long lockKey(UUID id) {
+        return id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+    }
+
+    private void lock(UUID id) {
+        if (lockTimeoutMillis > 0)
+            jdbc.getJdbcTemplate().execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+        jdbc.query(LOCK, new MapSqlParameterSource("key", lockKey(id)), rs -> {});
+        if (lockTimeoutMillis > 0)
+            jdbc.getJdbcTemplate().execute("SET LOCAL lock_timeout = 0");
+    }
+
+}
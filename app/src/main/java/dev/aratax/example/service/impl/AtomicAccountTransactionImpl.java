@@ -0,0 +1,55 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.annotation.InjectJitter;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyContext;
+import dev.aratax.example.service.IdempotencyService;
+
+/**
+ * Balance check, balance update and ledger insert in one data-modifying CTE: a single
+ * statement and, outside an enclosing transaction, a single auto-committed round trip.
+ * No entity is loaded, so there is no persistence context or dirty checking. The row lock
+ * taken by the UPDATE is held only for the duration of that one statement.
+ */
+@Service(AtomicAccountTransactionImpl.BEAN_ID)
+public class AtomicAccountTransactionImpl implements AccountTransaction {
+
+    public static final String BEAN_ID = "atomicAccountTransactionImpl";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate txTemplate;
+    private final IdempotencyService idempotency;
+
+    public AtomicAccountTransactionImpl(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager,
+            IdempotencyService idempotency) {
+        this.jdbc = jdbc;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.idempotency = idempotency;
+    }
+
+    @InjectJitter
+    @Override
+    public TransactionResponse execute(UUID id, TransactionType type, BigDecimal amt, String reason) {
+        if (IdempotencyContext.current() == null)
+            return GuardedUpdate.apply(jdbc, id, type, amt, reason);
+        // the idempotency key must commit together with the ledger row
+        return txTemplate.execute(status -> {
+            var response = GuardedUpdate.apply(jdbc, id, type, amt, reason);
+            idempotency.record(response);
+            return response;
+        });
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.repository.BalanceSnapshotRepository;
+import dev.aratax.example.util.UuidV7;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes a balance checkpoint every interval. Each checkpoint only reads the ledger entries
+ * written since the previous one and adds them to each touched account's latest snapshot.
+ * The checkpoint trails the clock by {@code lag}, longer than any write transaction, so no
+ * entry with an id below the boundary can still commit after the snapshot is taken.
+ */
+@Slf4j
+@Component
+public class BalanceSnapshotter {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final BalanceSnapshotRepository snapshotRepo;
+    private final TransactionTemplate txTemplate;
+    private final Duration lag;
+
+    public BalanceSnapshotter(BalanceSnapshotRepository snapshotRepo, PlatformTransactionManager txManager,
+            @Value("${app.balance-snapshots.lag:1m}") Duration lag) {
+        this.snapshotRepo = snapshotRepo;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.lag = lag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.balance-snapshots.interval:1h}",
+               initialDelayString = "${app.balance-snapshots.initial-delay:1m}")
+    void checkpoint() {
+        var asOf = Instant.now().minus(lag).truncatedTo(ChronoUnit.MILLIS);
+        Integer taken = txTemplate.execute(status -> {
+            if (!snapshotRepo.tryLock())
+                return null;
+            var previous = snapshotRepo.findLatestAsOf().orElse(null);
+            if (previous != null && !previous.isBefore(asOf))
+                return 0;
+            var fromId = previous == null ? FIRST_ID : UuidV7.min(previous.toEpochMilli());
+            return snapshotRepo.rollForward(asOf, fromId, UuidV7.min(asOf.toEpochMilli()));
+        });
+        if (taken == null)
+            log.debug("Balance checkpoint skipped, another replica holds it");
+        else if (taken > 0)
+            log.info("Balance checkpoint at {} snapshotted {} accounts", asOf, taken);
+    }
+
+}
@@ -0,0 +1,136 @@
+package dev.aratax.example.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.BatchItemResult;
+import dev.aratax.example.model.vo.BatchTransactionRequest.Item;
+import dev.aratax.example.model.vo.TransactionRequest;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.AccountService;
+import dev.aratax.example.service.BatchTransactionService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies a batch in chunks, one transaction per chunk. Each chunk locks its accounts once in
+ * id order, applies the items in submission order in memory, and leaves the writes to a
+ * single flush, where Hibernate groups the ledger inserts and account updates into JDBC
+ * batches. A rejected item fails alone. A failed commit fails every item in its chunk.
+ * Items for striped accounts go through {@link AccountService}, because their balance
+ * does not live on the account row.
+ */
+@Slf4j
+@Service
+public class BatchTransactionServiceImpl implements BatchTransactionService {
+
+    private final AccountRepository accountRepo;
+    private final LedgerEntryRepository ledgerRepo;
+    private final AccountService accountService;
+    private final StripedAccountRegistry stripedAccounts;
+    private final TransactionTemplate txTemplate;
+    private final int chunkSize;
+
+    public BatchTransactionServiceImpl(AccountRepository accountRepo, LedgerEntryRepository ledgerRepo,
+            AccountService accountService, StripedAccountRegistry stripedAccounts,
+            PlatformTransactionManager txManager,
+            @Value("${app.batch.chunk-size:200}") int chunkSize) {
+        this.accountRepo = accountRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.accountService = accountService;
+        this.stripedAccounts = stripedAccounts;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<BatchItemResult> execute(List<Item> items) {
+        var results = new BatchItemResult[items.size()];
+        List<Integer> striped = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < items.size(); i++) {
+            if (stripedAccounts.isStriped(items.get(i).getAccountId())) {
+                striped.add(i);
+                continue;
+            }
+            chunk.add(i);
+            if (chunk.size() == chunkSize) {
+                applyChunk(items, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            applyChunk(items, chunk, results);
+        for (int i : striped) {
+            var item = items.get(i);
+            try {
+                results[i] = BatchItemResult.success(i, item.getAccountId(),
+                    accountService.executeTransaction(item.getAccountId(), item.getTransaction()));
+            } catch (RuntimeException ex) {
+                results[i] = BatchItemResult.failure(i, item.getAccountId(), ex);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void applyChunk(List<Item> items, List<Integer> chunk, BatchItemResult[] results) {
+        var outcome = new BatchItemResult[chunk.size()];
+        try {
+            txTemplate.executeWithoutResult(status -> {
+                var ids = chunk.stream().map(i -> items.get(i).getAccountId()).collect(Collectors.toSet());
+                Map<UUID, Account> accounts = accountRepo.findAllForUpdate(ids).stream()
+                    .collect(Collectors.toMap(Account::getId, Function.identity()));
+                for (int n = 0; n < chunk.size(); n++) {
+                    int index = chunk.get(n);
+                    outcome[n] = apply(index, items.get(index), accounts);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Batch chunk of {} items rolled back", chunk.size(), ex);
+            for (int n = 0; n < chunk.size(); n++) {
+                int index = chunk.get(n);
+                outcome[n] = BatchItemResult.failure(index, items.get(index).getAccountId(), ex);
+            }
+        }
+        for (int n = 0; n < chunk.size(); n++) {
+            results[chunk.get(n)] = outcome[n];
+        }
+    }
+
+    private BatchItemResult apply(int index, Item item, Map<UUID, Account> accounts) {
+        UUID id = item.getAccountId();
+        TransactionRequest request = item.getTransaction();
+        var account = accounts.get(id);
+        if (account == null)
+            return BatchItemResult.failure(index, id, new AccountNotFoundException(id));
+        try {
+            if (TransactionType.DEPOSIT.equals(request.getType()))
+                account.deposit(request.getAmount());
+            else
+                account.withdraw(request.getAmount());
+        } catch (RuntimeException ex) {
+            return BatchItemResult.failure(index, id, ex);
+        }
+        var ledgerEntry = ledgerRepo.save(
+            LedgerEntry.of(account, request.getType(), request.getAmount(), request.getReason()));
+        return BatchItemResult.success(index, id, TransactionResponse.success(account, ledgerEntry));
+    }
+
+}
@@ -0,0 +1,92 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.enums.LockingMode;
+
+/**
+ * Recent optimistic conflicts per account, used to resolve {@link LockingMode#AUTO}. Each
+ * account hashes onto one slot of a fixed array; a slot packs an exponentially decayed
+ * conflict count (a float) and the time it was last touched into one long, so it is updated
+ * with a single CAS and needs no eviction. Accounts sharing a slot share their score, which
+ * can only make AUTO lock more often than needed, never less.
+ * <p>
+ * Conflicts are recorded whatever mode the client asked for. An account whose score reaches
+ * the threshold is routed to PESSIMISTIC; since locked writes do not conflict, its score then
+ * halves every half-life until it drops back under the threshold and AUTO tries OPTIMISTIC again.
+ */
+@Component
+public class ContentionTracker {
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final double decayPerMilli;
+    private final float threshold;
+    private final long epoch = System.nanoTime();
+
+    public ContentionTracker(@Value("${app.auto.slots:4096}") int slots,
+            @Value("${app.auto.half-life:10s}") Duration halfLife,
+            @Value("${app.auto.threshold:2}") float threshold) {
+        if (slots < 1 || Integer.bitCount(slots) != 1)
+            throw new IllegalArgumentException("app.auto.slots must be a power of two");
+        this.slots = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.decayPerMilli = Math.log(2) / Math.max(1, halfLife.toMillis());
+        this.threshold = threshold;
+    }
+
+    /** @return the mode AUTO resolves to for this account right now */
+    public LockingMode choose(UUID id) {
+        return isContended(id) ? LockingMode.PESSIMISTIC : LockingMode.OPTIMISTIC;
+    }
+
+    public boolean isContended(UUID id) {
+        return score(id) >= threshold;
+    }
+
+    /** Decayed number of optimistic conflicts the account has seen recently */
+    public float score(UUID id) {
+        long slot = slots.get(index(id));
+        return decayed(slot, now());
+    }
+
+    /** Records one optimistic attempt of this account that lost its version check */
+    public void conflict(UUID id) {
+        int i = index(id);
+        int now = now();
+        long prev;
+        long next;
+        do {
+            prev = slots.get(i);
+            next = pack(decayed(prev, now) + 1, now);
+        } while (!slots.compareAndSet(i, prev, next));
+    }
+
+    private float decayed(long slot, int now) {
+        float score = Float.intBitsToFloat((int) (slot >>> 32));
+        if (score == 0)
+            return 0;
+        // ticks wrap after ~49 days; an account idle that long reads as recently touched
+        long elapsed = Integer.toUnsignedLong(now - (int) slot);
+        return (float) (score * Math.exp(-decayPerMilli * elapsed));
+    }
+
+    private int now() {
+        return (int) ((System.nanoTime() - epoch) / 1_000_000);
+    }
+
+    private int index(UUID id) {
+        long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long pack(float score, int millis) {
+        return (long) Float.floatToRawIntBits(score) << 32 | Integer.toUnsignedLong(millis);
+    }
+
+}
@@ -0,0 +1,240 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.annotation.InjectJitter;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.DuplicateRequestException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRowMapper;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyContext;
+import dev.aratax.example.service.IdempotencyService;
+import dev.aratax.example.util.UuidV7;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit: concurrent requests are collected for a short window and applied together
+ * in one JDBC transaction, with one locking read, one batched {@code UPDATE accounts}, one
+ * batched {@code INSERT ledger_entries} and a single commit. Rows are locked in account-id
+ * order so concurrent batches, in this pod or another, cannot deadlock. Every caller still
+ * receives its own response or its own failure.
+ */
+@Slf4j
+@Service(GroupCommitAccountTransactionImpl.BEAN_ID)
+public class GroupCommitAccountTransactionImpl implements AccountTransaction {
+
+    public static final String BEAN_ID = "groupCommitAccountTransactionImpl";
+
+    private static final String LOCK_ACCOUNTS = """
+        SELECT id, owner_name, currency, balance, version, updated_at, stripe_count
+          FROM app.accounts
+         WHERE id = ANY (?)
+         ORDER BY id
+           FOR UPDATE""";
+
+    private static final String UPDATE_ACCOUNT = """
+        UPDATE app.accounts SET balance = ?, version = ?, updated_at = ? WHERE id = ?""";
+
+    private static final String INSERT_LEDGER = """
+        INSERT INTO app.ledger_entries (id, account_id, direction, amount, reason, created_at)
+        VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate txTemplate;
+    private final BlockingQueue<Op> queue;
+    private final List<Thread> committers = new ArrayList<>();
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Duration timeout;
+    @Resource
+    private IdempotencyService idempotency;
+
+    public GroupCommitAccountTransactionImpl(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+            @Value("${app.group-commit.window:200us}") Duration window,
+            @Value("${app.group-commit.max-batch:256}") int maxBatch,
+            @Value("${app.group-commit.committers:2}") int committers,
+            @Value("${app.group-commit.queue-capacity:4096}") int queueCapacity,
+            @Value("${app.group-commit.timeout:5s}") Duration timeout) {
+        this.jdbc = jdbc;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.timeout = timeout;
+        for (int i = 0; i < committers; i++) {
+            this.committers.add(Thread.ofPlatform().name("group-commit-" + i).daemon().unstarted(this::drain));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        committers.forEach(Thread::start);
+        log.info("Started {} group committers, window {}us, max batch {}",
+            committers.size(), TimeUnit.NANOSECONDS.toMicros(windowNanos), maxBatch);
+    }
+
+    @PreDestroy
+    void stop() {
+        committers.forEach(Thread::interrupt);
+    }
+
+    @InjectJitter
+    @Override
+    public TransactionResponse execute(UUID id, TransactionType type, BigDecimal amt, String reason) {
+        var op = new Op(id, type, amt, reason, IdempotencyContext.current(), new QueuedTransaction());
+        if (!queue.offer(op)) {
+            throw new AccountBusyException(id, "group commit queue is full");
+        }
+        try {
+            return op.result.await(id, timeout, "group commit");
+        } finally {
+            // a withdrawn op must not hold queue capacity until a committer reaches it
+            if (op.result.withdrawn())
+                queue.remove(op);
+        }
+    }
+
+    private void drain() {
+        List<Op> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Op next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.error("Group commit of {} operations failed", batch.size(), ex);
+                batch.forEach(op -> op.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+        Op pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new RejectedExecutionException("Group commit is shutting down"));
+        }
+    }
+
+    private void commit(List<Op> batch) {
+        // an op its caller withdrew after timing out was answered as not applied
+        batch.removeIf(op -> !op.result.claim());
+        if (batch.isEmpty())
+            return;
+        List<Op> applied = new ArrayList<>(batch.size());
+        List<TransactionResponse> responses = new ArrayList<>(batch.size());
+        List<Op> duplicates = new ArrayList<>();
+        txTemplate.executeWithoutResult(status -> {
+            Map<UUID, Account> accounts = lockAccounts(batch);
+            Instant now = Instant.now();
+            Map<UUID, Account> touched = new TreeMap<>();
+            List<LedgerEntry> entries = new ArrayList<>(batch.size());
+            for (Op op : batch) {
+                var account = accounts.get(op.id);
+                if (account == null) {
+                    op.result.completeExceptionally(new AccountNotFoundException(op.id));
+                    continue;
+                }
+                try {
+                    if (TransactionType.DEPOSIT.equals(op.type))
+                        account.deposit(op.amt);
+                    else
+                        account.withdraw(op.amt);
+                } catch (RuntimeException ex) {
+                    // a rejected op leaves the balance untouched; the rest of the batch proceeds
+                    op.result.completeExceptionally(ex);
+                    continue;
+                }
+                account.setUpdatedAt(now);
+                var entry = LedgerEntry.of(account, op.type, op.amt, op.reason);
+                entry.setId(UuidV7.next());
+                entry.setCreatedAt(now);
+                var response = TransactionResponse.success(account, entry);
+                if (op.key != null && !idempotency.tryRecord(op.key, response)) {
+                    // the key is taken: undo in memory, its caller replays the stored response
+                    if (TransactionType.DEPOSIT.equals(op.type))
+                        account.withdraw(op.amt);
+                    else
+                        account.deposit(op.amt);
+                    duplicates.add(op);
+                    continue;
+                }
+                touched.put(account.getId(), account);
+                entries.add(entry);
+                applied.add(op);
+                responses.add(response);
+            }
+            if (applied.isEmpty())
+                return;
+
+            var timestamp = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+            jdbc.batchUpdate(UPDATE_ACCOUNT, touched.values().stream()
+                .map(a -> new Object[] {a.getBalance(), a.getVersion(), timestamp, a.getId()})
+                .toList());
+            jdbc.batchUpdate(INSERT_LEDGER, entries.stream()
+                .map(e -> new Object[] {e.getId(), e.getAccount().getId(), e.getDirection().name(),
+                    e.getAmount(), e.getReason(), timestamp})
+                .toList());
+        });
+        for (int i = 0; i < applied.size(); i++) {
+            applied.get(i).result.complete(responses.get(i));
+        }
+        // only after commit, so the replay finds a key recorded earlier in this batch
+        duplicates.forEach(op -> op.result.completeExceptionally(new DuplicateRequestException(op.key.key())));
+    }
+
+    /** Locks every requested row in id order; versions are pre-incremented for the write */
+    private Map<UUID, Account> lockAccounts(List<Op> batch) {
+        Object[] ids = batch.stream().map(Op::id).distinct().toArray();
+        Map<UUID, Account> accounts = new HashMap<>();
+        jdbc.query(LOCK_ACCOUNTS,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+            rs -> {
+                var account = AccountRowMapper.INSTANCE.mapRow(rs, 0);
+                account.setVersion(account.getVersion() + 1);
+                accounts.put(account.getId(), account);
+            });
+        return accounts;
+    }
+
+    private record Op(UUID id, TransactionType type, BigDecimal amt, String reason,
+            IdempotencyContext.Key key, QueuedTransaction result) {}
+
+}
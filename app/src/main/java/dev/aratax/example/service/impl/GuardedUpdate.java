@@ -0,0 +1,74 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import dev.aratax.example.enums.Direction;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRowMapper;
+
+/**
+ * The balance update shared by {@link AtomicAccountTransactionImpl} and
+ * {@link AdvisoryAccountTransactionImpl}: one data-modifying CTE that moves the balance only
+ * if it stays non-negative and inserts the ledger row in the same statement.
+ */
+final class GuardedUpdate {
+
+    private static final String APPLY = """
+        WITH acc AS (
+            UPDATE app.accounts
+               SET balance = balance + :delta, version = version + 1, updated_at = now()
+             WHERE id = :id AND balance + :delta >= 0
+         RETURNING id, owner_name, currency, balance, version, updated_at, stripe_count
+        ), led AS (
+            INSERT INTO app.ledger_entries (account_id, direction, amount, reason)
+            SELECT acc.id, :direction, :amount, :reason FROM acc
+         RETURNING id, created_at
+        )
+        SELECT acc.*, led.id AS ledger_id, led.created_at AS ledger_created_at
+          FROM acc CROSS JOIN led""";
+
+    private static final String BALANCE = "SELECT balance FROM app.accounts WHERE id = :id";
+
+    private GuardedUpdate() {
+        // Utility class, prevent instantiation
+    }
+
+    static TransactionResponse apply(NamedParameterJdbcTemplate jdbc, UUID id, TransactionType type, BigDecimal amt,
+            String reason) {
+        var direction = Direction.fromTransactionType(type);
+        var params = new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("delta", direction == Direction.CREDIT ? amt : amt.negate())
+            .addValue("direction", direction.name())
+            .addValue("amount", amt)
+            .addValue("reason", reason, Types.VARCHAR);
+
+        List<TransactionResponse> rows = jdbc.query(APPLY, params, (rs, n) -> {
+            var account = AccountRowMapper.INSTANCE.mapRow(rs, n);
+            var entry = LedgerEntry.of(account, type, amt, reason);
+            entry.setId(rs.getObject("ledger_id", UUID.class));
+            entry.setCreatedAt(rs.getObject("ledger_created_at", OffsetDateTime.class).toInstant());
+            return TransactionResponse.success(account, entry);
+        });
+        if (!rows.isEmpty())
+            return rows.get(0);
+
+        // empty RETURNING: the row is missing or the guard rejected the debit
+        List<BigDecimal> balance = jdbc.queryForList(BALANCE, new MapSqlParameterSource("id", id), BigDecimal.class);
+        if (balance.isEmpty())
+            throw new AccountNotFoundException(id);
+        throw new InsufficientFundsException(id, amt, balance.get(0));
+    }
+
+}
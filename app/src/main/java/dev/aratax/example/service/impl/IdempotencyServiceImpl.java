@@ -0,0 +1,128 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.aratax.example.exception.DuplicateRequestException;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.IdempotencyRecordRepository;
+import dev.aratax.example.service.IdempotencyContext;
+import dev.aratax.example.service.IdempotencyService;
+import dev.aratax.example.util.BoundedCache;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays responses of repeated {@code Idempotency-Key}s. Lookups go to a bounded local
+ * cache first and to {@code app.idempotency_keys} on a miss. The table row is inserted by
+ * whichever {@code AccountTransaction} writes the ledger entry, inside its transaction, so a
+ * key is recorded if and only if its ledger entry is. Two concurrent requests with the same
+ * key race on the primary key: the loser rolls back and replays the winner's response.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepo;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, Stored> cache;
+    private final Duration retention;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepo, ObjectMapper objectMapper,
+            @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${app.idempotency.cache-ttl:10m}") Duration cacheTtl,
+            @Value("${app.idempotency.retention:24h}") Duration retention) {
+        this.recordRepo = recordRepo;
+        this.objectMapper = objectMapper;
+        this.cache = new BoundedCache<>(cacheSize, cacheTtl);
+        this.retention = retention;
+    }
+
+    @Override
+    public TransactionResponse execute(String key, String scope, Supplier<TransactionResponse> action) {
+        if (key == null)
+            return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+
+        var stored = lookup(key);
+        if (stored != null)
+            return replay(stored, scope);
+        try {
+            var response = IdempotencyContext.callWith(new IdempotencyContext.Key(key, scope), action);
+            cache.put(key, new Stored(scope, response));
+            return response;
+        } catch (DuplicateRequestException ex) {
+            // lost the race to a concurrent request with the same key, which has committed by now
+            stored = lookup(key);
+            if (stored == null)
+                throw ex;
+            return replay(stored, scope);
+        }
+    }
+
+    @Override
+    public void record(TransactionResponse response) {
+        var key = IdempotencyContext.current();
+        if (key != null && !tryRecord(key, response))
+            throw new DuplicateRequestException(key.key());
+    }
+
+    @Override
+    public boolean tryRecord(IdempotencyContext.Key key, TransactionResponse response) {
+        return recordRepo.insertIfAbsent(key.key(), key.scope(), toJson(response)) == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:1h}")
+    public void purge() {
+        int purged = recordRepo.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0)
+            log.info("Purged {} idempotency keys older than {}", purged, retention);
+    }
+
+    private Stored lookup(String key) {
+        var cached = cache.get(key);
+        if (cached != null)
+            return cached;
+        var record = recordRepo.findById(key).orElse(null);
+        if (record == null)
+            return null;
+        var stored = new Stored(record.getScope(), fromJson(record.getResponse()));
+        cache.put(key, stored);
+        return stored;
+    }
+
+    private static TransactionResponse replay(Stored stored, String scope) {
+        if (!stored.scope.equals(scope))
+            throw new IllegalStateException("Idempotency-Key was already used for " + stored.scope);
+        return stored.response;
+    }
+
+    private TransactionResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, TransactionResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response for Idempotency-Key is unreadable", ex);
+        }
+    }
+
+    private String toJson(TransactionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response cannot be serialized", ex);
+        }
+    }
+
+    private record Stored(String scope, TransactionResponse response) {}
+
+}
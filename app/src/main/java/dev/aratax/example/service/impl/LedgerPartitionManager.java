@@ -0,0 +1,111 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.repository.LedgerPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@code app.ledger_entries} partitioned by month: the current month and the next
+ * {@code ahead} months always have a partition before their first entry arrives, and with a
+ * positive {@code retain} every month that ended longer ago is detached. Each change runs in
+ * its own short transaction under a bounded {@code lock_timeout}, so a busy table makes it
+ * retry on the next run instead of queueing writers behind it; one replica at a time does
+ * the work.
+ */
+@Slf4j
+@Component
+public class LedgerPartitionManager {
+
+    private final LedgerPartitionRepository partitionRepo;
+    private final TransactionTemplate txTemplate;
+    private final Clock clock;
+    private final int ahead;
+    private final Duration retain;
+    private final long lockTimeoutMillis;
+
+    public LedgerPartitionManager(LedgerPartitionRepository partitionRepo, PlatformTransactionManager txManager,
+            @Value("${app.ledger.partitions.ahead:3}") int ahead,
+            @Value("${app.ledger.partitions.retain:0d}") Duration retain,
+            @Value("${app.ledger.partitions.lock-timeout:5s}") Duration lockTimeout) {
+        this(partitionRepo, txManager, Clock.systemUTC(), ahead, retain, lockTimeout);
+    }
+
+    LedgerPartitionManager(LedgerPartitionRepository partitionRepo, PlatformTransactionManager txManager, Clock clock,
+            int ahead, Duration retain, Duration lockTimeout) {
+        this.partitionRepo = partitionRepo;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.clock = clock;
+        this.ahead = ahead;
+        this.retain = retain;
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.partitions.check-interval:1h}")
+    void maintain() {
+        var now = clock.instant();
+        var current = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+        var attached = new HashSet<>(partitionRepo.findAttached());
+
+        for (int i = 0; i <= ahead; i++) {
+            var month = current.plusMonths(i);
+            if (!attached.contains(month) && change(month, "create", attachedNow -> {
+                    if (attachedNow)
+                        return false;
+                    partitionRepo.create(month);
+                    return true;
+                }))
+                log.info("Created ledger partition {}", LedgerPartitionRepository.name(month));
+        }
+        if (retain.isZero() || retain.isNegative())
+            return;
+        var horizon = YearMonth.from(now.minus(retain).atOffset(ZoneOffset.UTC));
+        attached.stream()
+            .filter(month -> month.isBefore(horizon))
+            .sorted()
+            .forEach(month -> {
+                if (change(month, "detach", attachedNow -> {
+                        if (!attachedNow)
+                            return false;
+                        partitionRepo.detach(month);
+                        return true;
+                    }))
+                    log.info("Detached ledger partition {}", LedgerPartitionRepository.name(month));
+            });
+    }
+
+    /**
+     * Runs the DDL under the lock, told whether the month is attached now that no other
+     * replica can be changing it
+     * @return whether this replica made the change
+     */
+    private boolean change(YearMonth month, String action, Predicate<Boolean> ddl) {
+        try {
+            return Boolean.TRUE.equals(txTemplate.execute(status -> {
+                if (!partitionRepo.tryLock())
+                    return false;
+                partitionRepo.setLockTimeout(lockTimeoutMillis);
+                return ddl.test(partitionRepo.findAttached().contains(month));
+            }));
+        } catch (DataAccessException ex) {
+            log.warn("Could not {} ledger partition {}, retrying next run: {}", action,
+                LedgerPartitionRepository.name(month), ex.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+}
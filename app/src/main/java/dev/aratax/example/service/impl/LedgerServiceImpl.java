@@ -0,0 +1,188 @@
+package dev.aratax.example.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import dev.aratax.example.archive.LedgerArchive;
+import dev.aratax.example.enums.ExportFormat;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.model.vo.BalanceAsOf;
+import dev.aratax.example.model.vo.LedgerPage;
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.BalanceSnapshotRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.LedgerExport;
+import dev.aratax.example.service.LedgerService;
+
+@Service
+public class LedgerServiceImpl implements LedgerService {
+
+    private static final String CSV_HEADER = "id,account_id,direction,amount,reason,created_at\n";
+
+    private final AccountRepository accountRepo;
+    private final LedgerEntryRepository ledgerRepo;
+    private final BalanceSnapshotRepository snapshotRepo;
+    private final LedgerArchive archive;
+    private final int maxPageSize;
+    private final ObjectWriter json;
+    private final TransactionTemplate exportTemplate;
+    private final Semaphore exportPermits;
+
+    public LedgerServiceImpl(AccountRepository accountRepo, LedgerEntryRepository ledgerRepo,
+            BalanceSnapshotRepository snapshotRepo, LedgerArchive archive, ObjectMapper objectMapper,
+            PlatformTransactionManager txManager,
+            @Value("${app.ledger.max-page-size:500}") int maxPageSize,
+            @Value("${app.ledger.max-concurrent-exports:2}") int maxConcurrentExports) {
+        this.accountRepo = accountRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.archive = archive;
+        this.maxPageSize = maxPageSize;
+        this.json = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.exportTemplate = new TransactionTemplate(txManager);
+        this.exportTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.exportTemplate.setReadOnly(true);
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LedgerPage page(UUID accountId, LedgerQuery query, int limit) {
+        if (limit < 1 || limit > maxPageSize)
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo()))
+            throw new IllegalArgumentException("from must be before to");
+
+        // one extra row tells whether another page exists without a count query
+        var entries = ledgerRepo.findPage(accountId, query, limit + 1);
+        entries = archive.mergePage(accountId, query, entries, limit + 1);
+        if (entries.isEmpty() && query.getCursor() == null && !accountRepo.existsById(accountId))
+            throw new AccountNotFoundException(accountId);
+        boolean hasMore = entries.size() > limit;
+        if (hasMore)
+            entries = entries.subList(0, limit);
+        return LedgerPage.builder()
+            .entries(entries)
+            .hasMore(hasMore)
+            .nextCursor(hasMore ? entries.get(limit - 1).getId() : null)
+            .build();
+    }
+
+    /**
+     * Rows go from a server-side cursor straight to the response, one fetch-size batch in
+     * memory at a time and never through the persistence context. Each running export holds
+     * a pooled connection for its whole duration, hence the concurrency cap; the slot is
+     * taken when the body starts writing, before anything is sent. Archived months
+     * are older than every row in the table and are written first, before the connection
+     * is taken.
+     */
+    @Override
+    public LedgerExport export(UUID accountId, Instant from, Instant to, ExportFormat format) {
+        if (from != null && to != null && !from.isBefore(to))
+            throw new IllegalArgumentException("from must be before to");
+        if (accountId == null && (from == null || to == null))
+            throw new IllegalArgumentException("An export across accounts needs both from and to");
+        if (accountId == null && archive.overlaps(from, to))
+            throw new IllegalArgumentException("An export across accounts cannot reach into archived months");
+        if (accountId != null && !accountRepo.existsById(accountId))
+            throw new AccountNotFoundException(accountId);
+
+        return out -> {
+            if (!exportPermits.tryAcquire())
+                throw new RejectedExecutionException("Too many ledger exports in progress");
+            try {
+                var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+                if (format == ExportFormat.CSV)
+                    writer.write(CSV_HEADER);
+                archive.stream(accountId, from, to, entry -> write(writer, format, entry));
+                exportTemplate.executeWithoutResult(status ->
+                    ledgerRepo.streamAll(accountId, from, to, entry -> write(writer, format, entry)));
+                writer.flush();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            } finally {
+                exportPermits.release();
+            }
+        };
+    }
+
+    /**
+     * Starts from the account's latest checkpoint at or before asOf and adds only the entries
+     * written after it, so the cost is bounded by one snapshot interval of history.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceAsOf balanceAsOf(UUID accountId, Instant asOf) {
+        if (asOf.isAfter(Instant.now()))
+            throw new IllegalArgumentException("asOf must not be in the future");
+        if (!accountRepo.existsById(accountId))
+            throw new AccountNotFoundException(accountId);
+
+        var snapshot = snapshotRepo.findLatest(accountId, asOf).orElse(null);
+        var fromId = snapshot != null ? snapshot.getBoundaryId() : new UUID(0, 0);
+        var tail = ledgerRepo.sumTail(accountId, fromId, asOf).plus(archive.sumTail(accountId, fromId, asOf));
+        var base = snapshot != null ? snapshot.getBalance() : BigDecimal.ZERO;
+        return BalanceAsOf.builder()
+            .accountId(accountId)
+            .asOf(asOf)
+            .balance(base.add(tail.net()))
+            .snapshotAsOf(snapshot != null ? snapshot.getAsOf() : null)
+            .tailEntries(tail.entries())
+            .build();
+    }
+
+    private void write(Writer writer, ExportFormat format, LedgerEntryDto entry) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(entry.getId().toString());
+                writer.write(',');
+                writer.write(entry.getAccountId().toString());
+                writer.write(',');
+                writer.write(entry.getDirection());
+                writer.write(',');
+                writer.write(entry.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(csv(entry.getReason()));
+                writer.write(',');
+                writer.write(entry.getCreatedAt().toString());
+            } else {
+                writer.write(json.writeValueAsString(entry));
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            // the client went away; abort the cursor instead of reading on
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
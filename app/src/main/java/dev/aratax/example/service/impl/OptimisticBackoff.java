@@ -0,0 +1,28 @@
+package dev.aratax.example.service.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry budget and backoff shared by the optimistic paths of {@link AccountServiceImpl} and
+ * {@link TransferServiceImpl}. The backoff runs outside the transaction, so no pooled
+ * connection is held while sleeping.
+ */
+final class OptimisticBackoff {
+
+    static final int MAX_RETRIES = 5;
+
+    private OptimisticBackoff() {
+        // Utility class, prevent instantiation
+    }
+
+    /** Linear backoff capped at 1.2 s, with jitter so that colliding writers spread out */
+    static void sleep(int attempt) {
+        try {
+            long backoffMs = Math.min(100L * attempt, 1200L);
+            Thread.sleep(backoffMs + ThreadLocalRandom.current().nextLong(60));
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import dev.aratax.example.model.vo.TransactionResponse;
 import dev.aratax.example.repository.AccountRepository;
 import dev.aratax.example.repository.LedgerEntryRepository;
 import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyService;
 import jakarta.annotation.Resource;
 
 @Service(PessimisticAccountTransactionImpl.BEAN_ID)
@@ -25,6 +26,8 @@ public class PessimisticAccountTransactionImpl implements AccountTransaction {
     private AccountRepository accountRepo;
     @Resource
     private LedgerEntryRepository ledgerRepo;
+    @Resource
+    private IdempotencyService idempotency;
 
     @InjectJitter
     @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
@@ -36,7 +39,9 @@ public class PessimisticAccountTransactionImpl implements AccountTransaction {
         else 
             account.withdraw(amt);
         var ledgerEntry = ledgerRepo.save(LedgerEntry.of(account, type, amt, reason));
-        return TransactionResponse.success(account, ledgerEntry);
+        var response = TransactionResponse.success(account, ledgerEntry);
+        idempotency.record(response);
+        return response;
     }
     
 }
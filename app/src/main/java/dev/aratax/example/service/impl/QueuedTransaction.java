@@ -0,0 +1,71 @@
+package dev.aratax.example.service.impl;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.exception.TransactionOutcomeUnknownException;
+import dev.aratax.example.model.vo.TransactionResponse;
+
+/**
+ * Result of an operation queued for a worker thread. The worker claims the operation before
+ * its transaction starts; until then the caller can withdraw it, so a caller that gives up
+ * knows whether the operation may still be applied.
+ */
+final class QueuedTransaction extends CompletableFuture<TransactionResponse> {
+
+    private final AtomicBoolean taken = new AtomicBoolean();
+    private volatile boolean withdrawn;
+
+    /** Called by the worker before applying the operation; false if the caller withdrew it */
+    boolean claim() {
+        return taken.compareAndSet(false, true);
+    }
+
+    /** True once the caller gave up before the worker claimed the operation */
+    boolean withdrawn() {
+        return withdrawn;
+    }
+
+    /**
+     * Waits for the outcome. A caller that times out or is interrupted before the worker claims
+     * the operation withdraws it and gets a 503; once claimed the operation is inside a
+     * transaction, so the caller waits one more {@code timeout} for its commit or rollback and
+     * otherwise reports the outcome as unknown.
+     */
+    TransactionResponse await(UUID id, Duration timeout, String what) {
+        try {
+            try {
+                return get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (withdraw())
+                    throw new AccountBusyException(id, what + " timed out before it was applied", ex);
+                return get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new TransactionOutcomeUnknownException(id, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (withdraw())
+                throw new RejectedExecutionException("Interrupted while waiting for account " + id, ex);
+            throw new TransactionOutcomeUnknownException(id, ex);
+        }
+    }
+
+    private boolean withdraw() {
+        withdrawn = claim();
+        return withdrawn;
+    }
+
+}
@@ -0,0 +1,345 @@
+package dev.aratax.example.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.model.vo.ReconciliationReport;
+import dev.aratax.example.model.vo.ReconciliationReport.Mismatch;
+import dev.aratax.example.service.ReconciliationService;
+import dev.aratax.example.util.UuidV7;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks {@code balance + stripes == credits - debits} for every account. A run first cuts the
+ * account id space into chunks of {@code chunk-size} accounts by walking the primary key, and
+ * records them; a fork/join pool then reconciles the chunks in parallel, one pooled connection
+ * per worker. Each chunk is a single statement that compares, stores the mismatches and marks
+ * the chunk done, so an interrupted run resumes at the first chunk not yet marked. A run holds
+ * a PostgreSQL session lock from start to finish, so only one run is active across replicas.
+ */
+@Slf4j
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext('app.reconciliation_runs'))";
+
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext('app.reconciliation_runs'))";
+
+    private static final String INSERT_RUN = """
+        INSERT INTO app.reconciliation_runs (id, status) VALUES (:runId, 'RUNNING')""";
+
+    // first id of the next chunk; the walk reads only the primary key index
+    private static final String NEXT_BOUNDARY = """
+        SELECT id FROM app.accounts WHERE id >= :lo ORDER BY id OFFSET :size LIMIT 1""";
+
+    private static final String INSERT_CHUNK = """
+        INSERT INTO app.reconciliation_chunks (run_id, chunk, lo_id, hi_id) VALUES (:runId, :chunk, :lo, :hi)""";
+
+    private static final String LATEST_UNFINISHED = """
+        SELECT id FROM app.reconciliation_runs WHERE status <> 'COMPLETED' ORDER BY started_at DESC LIMIT 1""";
+
+    private static final String RESTART_RUN = """
+        UPDATE app.reconciliation_runs SET status = 'RUNNING', finished_at = NULL WHERE id = :runId""";
+
+    private static final String PENDING_CHUNKS = """
+        SELECT chunk, lo_id, hi_id FROM app.reconciliation_chunks
+         WHERE run_id = :runId AND done_at IS NULL
+         ORDER BY chunk""";
+
+    private static final String RECONCILE_CHUNK = """
+        WITH checked AS (
+            SELECT a.id, a.balance + COALESCE(st.balance, 0) AS balance,
+                   COALESCE(led.net, 0) + COALESCE(old.net, 0) AS ledger_balance
+              FROM app.accounts a
+              LEFT JOIN LATERAL (SELECT SUM(s.balance) AS balance
+                                   FROM app.account_stripes s
+                                  WHERE s.account_id = a.id) st ON true
+              LEFT JOIN LATERAL (SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END) AS net
+                                   FROM app.ledger_entries e
+                                  WHERE e.account_id = a.id) led ON true
+              LEFT JOIN LATERAL (SELECT SUM(d.net) AS net
+                                   FROM app.ledger_detached_totals d
+                                  WHERE d.account_id = a.id) old ON true
+             WHERE a.id >= :lo %s
+        ), found AS (
+            INSERT INTO app.reconciliation_mismatches (run_id, account_id, balance, ledger_balance)
+            SELECT :runId, id, balance, ledger_balance FROM checked WHERE balance <> ledger_balance
+                ON CONFLICT DO NOTHING
+         RETURNING 1
+        )
+        UPDATE app.reconciliation_chunks
+           SET accounts = (SELECT count(*) FROM checked),
+               mismatches = (SELECT count(*) FROM found),
+               done_at = now()
+         WHERE run_id = :runId AND chunk = :chunk""";
+
+    private static final String FINISH_RUN = """
+        UPDATE app.reconciliation_runs SET status = :status, finished_at = now() WHERE id = :runId""";
+
+    private static final String FIND_RUN = """
+        SELECT id, status, started_at, finished_at FROM app.reconciliation_runs WHERE id = :runId""";
+
+    private static final String FIND_LATEST_RUN = """
+        SELECT id, status, started_at, finished_at FROM app.reconciliation_runs ORDER BY started_at DESC LIMIT 1""";
+
+    private static final String PROGRESS = """
+        SELECT count(*) AS chunks, count(done_at) AS chunks_done,
+               COALESCE(SUM(accounts), 0) AS accounts, COALESCE(SUM(mismatches), 0) AS mismatches
+          FROM app.reconciliation_chunks
+         WHERE run_id = :runId""";
+
+    private static final String MISMATCHES = """
+        SELECT account_id, balance, ledger_balance, found_at FROM app.reconciliation_mismatches
+         WHERE run_id = :runId
+         ORDER BY account_id
+         LIMIT :limit""";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate txTemplate;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int reportedMismatches;
+    private final AtomicReference<UUID> activeRun = new AtomicReference<>();
+
+    public ReconciliationServiceImpl(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager,
+            @Value("${app.reconciliation.parallelism:4}") int parallelism,
+            @Value("${app.reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${app.reconciliation.reported-mismatches:100}") int reportedMismatches) {
+        this.jdbc = jdbc;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        // no compensation threads: a worker blocked on JDBC must not cause an extra connection
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+            0, parallelism, 1, p -> true, 60, TimeUnit.SECONDS);
+        this.chunkSize = chunkSize;
+        this.reportedMismatches = reportedMismatches;
+    }
+
+    @PreDestroy
+    void stop() {
+        // pending chunks stay unmarked, so the run can be resumed after a restart
+        pool.shutdownNow();
+    }
+
+    @Override
+    public synchronized ReconciliationReport start(boolean resume) {
+        if (activeRun.get() != null)
+            throw new IllegalStateException("Reconciliation run " + activeRun.get() + " is already in progress");
+
+        // taken before looking for the run to resume, so two replicas cannot both pick it up
+        var lock = lockRuns();
+        UUID runId;
+        try {
+            runId = resume ? jdbc.queryForList(LATEST_UNFINISHED, new MapSqlParameterSource(), UUID.class)
+                .stream().findFirst().orElse(null) : null;
+            if (runId != null) {
+                jdbc.update(RESTART_RUN, new MapSqlParameterSource("runId", runId));
+            } else {
+                runId = UuidV7.next();
+                plan(runId);
+            }
+        } catch (RuntimeException ex) {
+            unlockRuns(lock);
+            throw ex;
+        }
+        final var id = runId;
+        activeRun.set(id);
+        Thread.ofPlatform().name("reconciliation-" + id).daemon().start(() -> {
+            try {
+                execute(id);
+            } finally {
+                unlockRuns(lock);
+            }
+        });
+        return report(id).orElseThrow();
+    }
+
+    @Override
+    public Optional<ReconciliationReport> report(UUID runId) {
+        var params = new MapSqlParameterSource("runId", runId).addValue("limit", reportedMismatches);
+        List<ReconciliationReport> runs = jdbc.query(runId != null ? FIND_RUN : FIND_LATEST_RUN, params,
+            (rs, n) -> ReconciliationReport.builder()
+                .runId(rs.getObject("id", UUID.class))
+                .status(rs.getString("status"))
+                .startedAt(rs.getObject("started_at", OffsetDateTime.class).toInstant())
+                .finishedAt(Optional.ofNullable(rs.getObject("finished_at", OffsetDateTime.class))
+                    .map(OffsetDateTime::toInstant).orElse(null))
+                .build());
+        if (runs.isEmpty())
+            return Optional.empty();
+
+        var report = runs.get(0);
+        params.addValue("runId", report.getRunId());
+        report.setActive(report.getRunId().equals(activeRun.get()));
+        jdbc.query(PROGRESS, params, rs -> {
+            report.setChunks(rs.getInt("chunks"));
+            report.setChunksDone(rs.getInt("chunks_done"));
+            report.setAccountsChecked(rs.getLong("accounts"));
+            report.setMismatchCount(rs.getLong("mismatches"));
+        });
+        report.setMismatches(jdbc.query(MISMATCHES, params, (rs, n) -> Mismatch.builder()
+            .accountId(rs.getObject("account_id", UUID.class))
+            .balance(rs.getBigDecimal("balance"))
+            .ledgerBalance(rs.getBigDecimal("ledger_balance"))
+            .foundAt(rs.getObject("found_at", OffsetDateTime.class).toInstant())
+            .build()));
+        return Optional.of(report);
+    }
+
+    /**
+     * Takes the run lock on a connection kept until the run ends. PostgreSQL releases a session
+     * lock with its connection, so a run whose replica died can be resumed by another one.
+     */
+    Connection lockRuns() {
+        Connection connection = null;
+        try {
+            connection = jdbc.getJdbcTemplate().getDataSource().getConnection();
+            try (var statement = connection.createStatement(); var rs = statement.executeQuery(TRY_LOCK)) {
+                if (rs.next() && rs.getBoolean(1))
+                    return connection;
+            }
+            connection.close();
+        } catch (SQLException ex) {
+            closeQuietly(connection);
+            throw new CannotGetJdbcConnectionException("Could not take the reconciliation lock", ex);
+        }
+        throw new IllegalStateException("A reconciliation run is already in progress on another replica");
+    }
+
+    private void unlockRuns(Connection connection) {
+        try (var statement = connection.createStatement()) {
+            statement.execute(UNLOCK);
+        } catch (SQLException ex) {
+            // a broken connection ends its session, which releases the lock anyway
+            log.warn("Could not release the reconciliation lock", ex);
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null)
+            return;
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Could not close connection", ex);
+        }
+    }
+
+    /** Records the run and its chunk boundaries in one transaction, so a resumed run is always fully planned */
+    void plan(UUID runId) {
+        txTemplate.executeWithoutResult(status -> {
+            jdbc.update(INSERT_RUN, new MapSqlParameterSource("runId", runId));
+            List<SqlParameterSource> batch = new ArrayList<>();
+            UUID lo = FIRST_ID;
+            for (int chunk = 0; lo != null; chunk++) {
+                var next = jdbc.queryForList(NEXT_BOUNDARY,
+                    new MapSqlParameterSource("lo", lo).addValue("size", chunkSize), UUID.class);
+                UUID hi = next.isEmpty() ? null : next.get(0);
+                batch.add(new MapSqlParameterSource("runId", runId)
+                    .addValue("chunk", chunk)
+                    .addValue("lo", lo)
+                    .addValue("hi", hi, Types.OTHER));
+                if (batch.size() == 500 || hi == null) {
+                    jdbc.batchUpdate(INSERT_CHUNK, batch.toArray(SqlParameterSource[]::new));
+                    batch.clear();
+                }
+                lo = hi;
+            }
+        });
+    }
+
+    void execute(UUID runId) {
+        try {
+            List<Chunk> pending = jdbc.query(PENDING_CHUNKS, new MapSqlParameterSource("runId", runId),
+                (rs, n) -> new Chunk(rs.getInt("chunk"), rs.getObject("lo_id", UUID.class),
+                    rs.getObject("hi_id", UUID.class)));
+            log.info("Reconciliation run {} started, {} chunks pending", runId, pending.size());
+            var failed = new AtomicInteger();
+            if (!pending.isEmpty())
+                pool.invoke(new ChunkTask(runId, pending, 0, pending.size(), failed));
+            jdbc.update(FINISH_RUN, new MapSqlParameterSource("runId", runId)
+                .addValue("status", failed.get() == 0 ? COMPLETED : FAILED));
+            log.info("Reconciliation run {} finished, {} chunks failed", runId, failed.get());
+        } catch (RuntimeException ex) {
+            log.error("Reconciliation run {} aborted", runId, ex);
+            jdbc.update(FINISH_RUN, new MapSqlParameterSource("runId", runId).addValue("status", FAILED));
+        } finally {
+            activeRun.set(null);
+        }
+    }
+
+    void reconcile(UUID runId, Chunk chunk) {
+        var params = new MapSqlParameterSource("runId", runId)
+            .addValue("chunk", chunk.number())
+            .addValue("lo", chunk.lo())
+            .addValue("hi", chunk.hi());
+        jdbc.update(RECONCILE_CHUNK.formatted(chunk.hi() != null ? "AND a.id < :hi" : ""), params);
+    }
+
+    /** Halves the chunk list until one chunk is left, then reconciles it */
+    private final class ChunkTask extends RecursiveAction {
+
+        private final UUID runId;
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final AtomicInteger failed;
+
+        ChunkTask(UUID runId, List<Chunk> chunks, int from, int to, AtomicInteger failed) {
+            this.runId = runId;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(runId, chunks, from, mid, failed), new ChunkTask(runId, chunks, mid, to, failed));
+                return;
+            }
+            var chunk = chunks.get(from);
+            try {
+                reconcile(runId, chunk);
+            } catch (RuntimeException ex) {
+                // left unmarked for the next resume
+                failed.incrementAndGet();
+                log.warn("Reconciliation run {} chunk {} failed", runId, chunk.number(), ex);
+            }
+        }
+    }
+
+    record Chunk(int number, UUID lo, UUID hi) {}
+
+}
@@ -0,0 +1,227 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.annotation.InjectJitter;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.DuplicateRequestException;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyContext;
+import dev.aratax.example.service.IdempotencyService;
+import jakarta.annotation.Resource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-writer execution: every account hashes to one lane, and each lane is a bounded
+ * mailbox drained by exactly one thread. Operations queued for the same account are applied
+ * in arrival order inside one transaction, so same-pod requests never race each other for
+ * the row and need neither {@code SELECT ... FOR UPDATE} nor optimistic retries. The
+ * {@code @Version} check still guards against writers in other replicas; a batch that loses
+ * to one is replayed once on a fresh load.
+ */
+@Slf4j
+@Service(SequencedAccountTransactionImpl.BEAN_ID)
+public class SequencedAccountTransactionImpl implements AccountTransaction {
+
+    public static final String BEAN_ID = "sequencedAccountTransactionImpl";
+
+    private final AccountRepository accountRepo;
+    private final LedgerEntryRepository ledgerRepo;
+    private final TransactionTemplate txTemplate;
+    private final Lane[] lanes;
+    private final int batchSize;
+    private final Duration timeout;
+    @Resource
+    private IdempotencyService idempotency;
+
+    public SequencedAccountTransactionImpl(AccountRepository accountRepo, LedgerEntryRepository ledgerRepo,
+            PlatformTransactionManager txManager,
+            @Value("${app.sequencer.lanes:16}") int laneCount,
+            @Value("${app.sequencer.queue-capacity:1024}") int queueCapacity,
+            @Value("${app.sequencer.batch-size:64}") int batchSize,
+            @Value("${app.sequencer.timeout:5s}") Duration timeout) {
+        this.accountRepo = accountRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+        log.info("Started {} sequencer lanes, batch size {}", lanes.length, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+    @InjectJitter
+    @Override
+    public TransactionResponse execute(UUID id, TransactionType type, BigDecimal amt, String reason) {
+        var op = new Op(id, type, amt, reason, IdempotencyContext.current(), new QueuedTransaction());
+        var lane = laneFor(id);
+        if (!lane.mailbox.offer(op)) {
+            throw new AccountBusyException(id, "sequencer lane is full");
+        }
+        try {
+            return op.result.await(id, timeout, "sequenced transaction");
+        } finally {
+            // a withdrawn op must not hold mailbox capacity until the lane reaches it
+            if (op.result.withdrawn())
+                lane.mailbox.remove(op);
+        }
+    }
+
+    private Lane laneFor(UUID id) {
+        return lanes[Math.floorMod(id.hashCode(), lanes.length)];
+    }
+
+    /** Applies one drained batch: one transaction per account, one entity load, many ledger rows */
+    private void apply(List<Op> batch) {
+        Map<UUID, List<Op>> byAccount = new LinkedHashMap<>();
+        for (Op op : batch) {
+            if (!op.result.claim())
+                continue; // its caller gave up and was told it was not applied
+            byAccount.computeIfAbsent(op.id, k -> new ArrayList<>()).add(op);
+        }
+        byAccount.forEach(this::applyInOrder);
+    }
+
+    /**
+     * A writer in another replica can move the version between the load and the commit. The
+     * batch is then replayed once on a fresh load before its ops fail with a conflict.
+     */
+    private void applyInOrder(UUID id, List<Op> ops) {
+        Outcome outcome;
+        try {
+            try {
+                outcome = attempt(id, ops);
+            } catch (OptimisticLockingFailureException ex) {
+                log.debug("Sequenced batch of {} for account {} hit a concurrent write, replaying", ops.size(), id);
+                outcome = attempt(id, ops);
+            }
+        } catch (RuntimeException ex) {
+            ops.forEach(op -> op.result.completeExceptionally(ex));
+            return;
+        }
+        outcome.rejected.forEach((op, ex) -> op.result.completeExceptionally(ex));
+        for (int i = 0; i < outcome.applied.size(); i++) {
+            outcome.applied.get(i).result.complete(outcome.responses.get(i));
+        }
+        // only after commit, so the replay finds a key recorded earlier in this batch
+        outcome.duplicates.forEach(op -> op.result.completeExceptionally(new DuplicateRequestException(op.key.key())));
+    }
+
+    /** Applies the ops in one transaction; their callers are answered only once it committed */
+    private Outcome attempt(UUID id, List<Op> ops) {
+        var outcome = new Outcome(new ArrayList<>(ops.size()), new ArrayList<>(ops.size()), new ArrayList<>(),
+            new LinkedHashMap<>());
+        txTemplate.executeWithoutResult(status -> {
+            var account = accountRepo.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
+            for (Op op : ops) {
+                try {
+                    if (TransactionType.DEPOSIT.equals(op.type))
+                        account.deposit(op.amt);
+                    else
+                        account.withdraw(op.amt);
+                } catch (RuntimeException ex) {
+                    // a rejected op leaves the balance untouched; the rest of the batch proceeds
+                    outcome.rejected.put(op, ex);
+                    continue;
+                }
+                var ledgerEntry = ledgerRepo.save(LedgerEntry.of(account, op.type, op.amt, op.reason));
+                var response = TransactionResponse.success(account, ledgerEntry);
+                if (op.key != null && !idempotency.tryRecord(op.key, response)) {
+                    // the key is taken: undo this op, its caller replays the stored response
+                    if (TransactionType.DEPOSIT.equals(op.type))
+                        account.withdraw(op.amt);
+                    else
+                        account.deposit(op.amt);
+                    ledgerRepo.delete(ledgerEntry);
+                    outcome.duplicates.add(op);
+                    continue;
+                }
+                outcome.applied.add(op);
+                outcome.responses.add(response);
+            }
+        });
+        return outcome;
+    }
+
+    private record Outcome(List<Op> applied, List<TransactionResponse> responses, List<Op> duplicates,
+            Map<Op, RuntimeException> rejected) {}
+
+    private record Op(UUID id, TransactionType type, BigDecimal amt, String reason,
+            IdempotencyContext.Key key, QueuedTransaction result) {}
+
+    private final class Lane implements Runnable {
+
+        private final BlockingQueue<Op> mailbox;
+        private final Thread thread;
+
+        Lane(int index, BlockingQueue<Op> mailbox) {
+            this.mailbox = mailbox;
+            this.thread = Thread.ofPlatform().name("sequencer-lane-" + index).daemon().unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            List<Op> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(mailbox.take());
+                    mailbox.drainTo(batch, batchSize - 1);
+                    apply(batch);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException ex) {
+                    log.error("Sequencer lane {} failed to apply batch", thread.getName(), ex);
+                    batch.forEach(op -> op.result.completeExceptionally(ex));
+                } finally {
+                    batch.clear();
+                }
+            }
+            Op pending;
+            while ((pending = mailbox.poll()) != null) {
+                pending.result.completeExceptionally(new RejectedExecutionException("Sequencer is shutting down"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package dev.aratax.example.service.impl;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.AccountRepository.StripedAccount;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory view of which accounts are striped, used to route writes without an extra
+ * read per transaction. Changes made on another replica become visible here within one
+ * refresh interval; reads never depend on this view, they use the account row itself.
+ * A withdrawal that found too little on the base row re-reads its account with
+ * {@link #refresh(UUID)}, so a stale view cannot refuse funds held in stripes.
+ */
+@Slf4j
+@Component
+public class StripedAccountRegistry {
+
+    private final AccountRepository accountRepo;
+    private volatile Map<UUID, Integer> stripes = Map.of();
+
+    public StripedAccountRegistry(AccountRepository accountRepo) {
+        this.accountRepo = accountRepo;
+    }
+
+    public int stripeCount(UUID id) {
+        return stripes.getOrDefault(id, 0);
+    }
+
+    public boolean isStriped(UUID id) {
+        return stripes.containsKey(id);
+    }
+
+    /** Applies a local change immediately instead of waiting for the next refresh */
+    void update(UUID id, int count) {
+        var next = new ConcurrentHashMap<>(stripes);
+        if (count > 0)
+            next.put(id, count);
+        else
+            next.remove(id);
+        stripes = next;
+    }
+
+    /** Re-reads one account's stripe count; @return whether it is striped */
+    boolean refresh(UUID id) {
+        int count = accountRepo.findStripeCount(id).orElse(0);
+        if (count != stripeCount(id)) {
+            log.info("Account {} found with {} stripes before the next refresh", id, count);
+            update(id, count);
+        }
+        return count > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stripes.refresh-interval:5s}")
+    void refresh() {
+        var next = new ConcurrentHashMap<UUID, Integer>();
+        for (StripedAccount account : accountRepo.findStriped()) {
+            next.put(account.getId(), account.getStripeCount());
+        }
+        if (!next.equals(stripes))
+            log.info("Striped accounts changed: {}", next);
+        stripes = next;
+    }
+
+}
@@ -0,0 +1,111 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.aratax.example.annotation.InjectJitter;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.AccountStripe;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.AccountStripeRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.IdempotencyService;
+import jakarta.annotation.Resource;
+
+/**
+ * Writes for hot accounts. Deposits increment one randomly chosen stripe; withdrawals take
+ * the whole amount from the first stripe that can cover it, and only when none can do they
+ * lock the base row and every stripe to consolidate and rebalance.
+ */
+@Service(StripedAccountTransactionImpl.BEAN_ID)
+public class StripedAccountTransactionImpl implements AccountTransaction {
+
+    public static final String BEAN_ID = "stripedAccountTransactionImpl";
+
+    @Resource
+    private AccountRepository accountRepo;
+    @Resource
+    private AccountStripeRepository stripeRepo;
+    @Resource
+    private LedgerEntryRepository ledgerRepo;
+    @Resource
+    private StripedAccountRegistry stripedAccounts;
+    @Resource
+    private IdempotencyService idempotency;
+
+    @InjectJitter
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    @Override
+    public TransactionResponse execute(UUID id, TransactionType type, BigDecimal amt, String reason) {
+        int stripes = stripedAccounts.stripeCount(id);
+        if (TransactionType.DEPOSIT.equals(type))
+            deposit(id, stripes, amt);
+        else
+            withdraw(id, stripes, amt);
+        var ledgerEntry = ledgerRepo.save(LedgerEntry.of(accountRepo.getReferenceById(id), type, amt, reason));
+        var account = accountRepo.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
+        var total = accountRepo.findTotalBalance(id).orElseThrow(() -> new AccountNotFoundException(id));
+        var response = TransactionResponse.success(account.withBalance(total), ledgerEntry);
+        idempotency.record(response);
+        return response;
+    }
+
+    private void deposit(UUID id, int stripes, BigDecimal amt) {
+        if (stripes > 0 && stripeRepo.credit(id, ThreadLocalRandom.current().nextInt(stripes), amt) == 1)
+            return;
+        // stripes were removed or resized since the registry refreshed
+        if (accountRepo.credit(id, amt) == 0)
+            throw new AccountNotFoundException(id);
+    }
+
+    private void withdraw(UUID id, int stripes, BigDecimal amt) {
+        int start = stripes > 0 ? ThreadLocalRandom.current().nextInt(stripes) : 0;
+        for (int i = 0; i < stripes; i++) {
+            if (stripeRepo.debit(id, (start + i) % stripes, amt) == 1)
+                return;
+        }
+        consolidate(id, amt);
+    }
+
+    /**
+     * Locks stripes then the base row, withdraws, and spreads the rest evenly. Stripes come
+     * first because every striped write holds a stripe before its ledger insert touches the
+     * base row; locking in the same order keeps the two from deadlocking.
+     */
+    private void consolidate(UUID id, BigDecimal amt) {
+        var parts = stripeRepo.findAllForUpdate(id);
+        var account = accountRepo.findForUpdate(id).orElseThrow(() -> new AccountNotFoundException(id));
+        var total = parts.stream().map(AccountStripe::getBalance).reduce(account.getBalance(), BigDecimal::add);
+        if (total.compareTo(amt) < 0)
+            throw new InsufficientFundsException(id, amt, total);
+
+        var remaining = total.subtract(amt);
+        if (parts.isEmpty()) {
+            account.setBalance(remaining);
+            return;
+        }
+        if (account.getBalance().signum() != 0)
+            account.setBalance(BigDecimal.ZERO);
+        for (int i = 0; i < parts.size(); i++) {
+            parts.get(i).setBalance(share(remaining, parts.size(), i));
+        }
+    }
+
+    /** Even split at cent precision; stripe 0 absorbs the rounding remainder */
+    static BigDecimal share(BigDecimal total, int stripes, int stripe) {
+        var share = total.divide(BigDecimal.valueOf(stripes), 2, RoundingMode.DOWN);
+        return stripe == 0 ? total.subtract(share.multiply(BigDecimal.valueOf(stripes - 1))) : share;
+    }
+
+}
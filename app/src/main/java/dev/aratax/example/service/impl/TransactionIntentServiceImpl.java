@@ -0,0 +1,68 @@
+package dev.aratax.example.service.impl;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import dev.aratax.example.enums.IntentStatus;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.model.vo.TransactionIntent;
+import dev.aratax.example.model.vo.TransactionRequest;
+import dev.aratax.example.repository.TransactionIntentRepository;
+import dev.aratax.example.service.TransactionIntentService;
+
+/**
+ * Intake side of the intent queue: one auto-committed insert, whose statement trigger wakes
+ * the {@link TransactionIntentWorker}s of every replica. The client's {@code Idempotency-Key}
+ * is unique among intents, so a retried submission finds the intent it queued before.
+ */
+@Service
+public class TransactionIntentServiceImpl implements TransactionIntentService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final TransactionIntentRepository intentRepo;
+
+    public TransactionIntentServiceImpl(TransactionIntentRepository intentRepo) {
+        this.intentRepo = intentRepo;
+    }
+
+    @Override
+    public TransactionIntent submit(UUID accountId, String idempotencyKey, TransactionRequest request) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH))
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+
+        var intent = TransactionIntent.builder()
+            .accountId(accountId)
+            .type(request.getType())
+            .amount(request.getAmount())
+            .lockingMode(request.getLockingMode())
+            .reason(request.getReason())
+            .idempotencyKey(idempotencyKey)
+            .status(IntentStatus.PENDING)
+            .build();
+        try {
+            var inserted = intentRepo.insert(intent);
+            if (inserted.isPresent())
+                return inserted.get();
+        } catch (DataIntegrityViolationException ex) {
+            // the only foreign key is the account
+            throw new AccountNotFoundException(accountId);
+        }
+        var existing = intentRepo.findByIdempotencyKey(idempotencyKey)
+            .orElseThrow(() -> new IllegalStateException("Idempotency-Key was taken by an intent that is gone"));
+        if (!existing.getAccountId().equals(accountId))
+            throw new IllegalStateException("Idempotency-Key was already used for account " + existing.getAccountId());
+        return existing;
+    }
+
+    @Override
+    public TransactionIntent find(UUID accountId, UUID intentId) {
+        return intentRepo.findById(intentId)
+            .filter(intent -> intent.getAccountId().equals(accountId))
+            .orElseThrow(() -> new NoSuchElementException("Transaction intent not found: " + intentId));
+    }
+
+}
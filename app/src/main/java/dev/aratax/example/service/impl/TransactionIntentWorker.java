@@ -0,0 +1,296 @@
+package dev.aratax.example.service.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.vo.TransactionIntent;
+import dev.aratax.example.model.vo.TransactionRequest;
+import dev.aratax.example.repository.TransactionIntentRepository;
+import dev.aratax.example.service.AccountService;
+import dev.aratax.example.service.IdempotencyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains {@code app.transaction_intents}. Each worker claims a batch with {@code SKIP LOCKED},
+ * so replicas never wait on each other, and only ever claims whole accounts whose oldest open
+ * intent is pending; an account's intents therefore run one worker at a time, in id order.
+ * Workers sleep until a {@code NOTIFY} on {@value TransactionIntentRepository#CHANNEL} arrives on
+ * one dedicated listener connection; {@code idle-poll} is only a safety net for notifications
+ * lost while that connection was down.
+ * <p>
+ * Every intent executes under an idempotency key, the client's or one derived from the intent
+ * id, recorded in the same transaction as its ledger entry. An intent that is run twice, after
+ * a crash or an expired lease, replays its first result instead of moving money again.
+ * Business failures end the intent as FAILED; anything else requeues it and the rest of its
+ * account's batch with a growing delay, until {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class TransactionIntentWorker implements SmartLifecycle {
+
+    private static final Comparator<TransactionIntent> ACCOUNT_ORDER =
+        Comparator.comparing(TransactionIntent::getAccountId, TransferServiceImpl.LOCK_ORDER)
+            .thenComparing(TransactionIntent::getId, TransferServiceImpl.LOCK_ORDER);
+
+    private final TransactionIntentRepository intentRepo;
+    private final AccountService accountService;
+    private final IdempotencyService idempotencyService;
+    private final DataSourceProperties dataSource;
+    private final MeterProvider<Counter> processed;
+    private final int workers;
+    private final int batchSize;
+    private final Duration idlePoll;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration retention;
+    private final Duration reconnectDelay;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private long signals;
+    /** Earliest local retry, in {@link System#nanoTime()}, or {@link Long#MAX_VALUE} */
+    private final AtomicLong retryDue = new AtomicLong(Long.MAX_VALUE);
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile boolean stopping;
+
+    public TransactionIntentWorker(TransactionIntentRepository intentRepo, AccountService accountService,
+            IdempotencyService idempotencyService, DataSourceProperties dataSource, MeterRegistry registry,
+            @Value("${app.intents.workers:2}") int workers,
+            @Value("${app.intents.batch-size:100}") int batchSize,
+            @Value("${app.intents.idle-poll:30s}") Duration idlePoll,
+            @Value("${app.intents.lease:5m}") Duration lease,
+            @Value("${app.intents.max-attempts:5}") int maxAttempts,
+            @Value("${app.intents.retry-delay:1s}") Duration retryDelay,
+            @Value("${app.intents.retention:24h}") Duration retention,
+            @Value("${app.intents.reconnect-delay:2s}") Duration reconnectDelay) {
+        this.intentRepo = intentRepo;
+        this.accountService = accountService;
+        this.idempotencyService = idempotencyService;
+        this.dataSource = dataSource;
+        this.processed = Counter.builder("app.intents.processed")
+            .description("Transaction intents by outcome: done, failed or retried")
+            .withRegistry(registry);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.idlePoll = idlePoll;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        stopping = false;
+        threads.add(Thread.ofPlatform().name("intent-listener").daemon().start(this::listen));
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofPlatform().name("intent-worker-" + i).daemon().start(this::work));
+        }
+    }
+
+    /** Workers finish the intent in hand and release the rest of their batch */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        stopping = true;
+        wake();
+        // the listener is a daemon and notices on its next poll; only the workers hold intents
+        for (Thread t : threads.subList(Math.min(1, threads.size()), threads.size())) {
+            try {
+                t.join(lease.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Hands expired leases back to the queue and drops finished intents past retention */
+    @Scheduled(fixedDelayString = "${app.intents.sweep-interval:1m}")
+    void sweep() {
+        int recovered = intentRepo.recoverExpired(lease);
+        if (recovered > 0)
+            log.warn("Requeued {} transaction intents whose lease of {} expired", recovered, lease);
+        int purged = intentRepo.deleteCompletedBefore(Instant.now().minus(retention));
+        if (purged > 0)
+            log.info("Purged {} transaction intents completed more than {} ago", purged, retention);
+    }
+
+    void work() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long seen = signalCount();
+            try {
+                var batch = intentRepo.claim(batchSize);
+                if (batch.isEmpty())
+                    await(seen);
+                else
+                    process(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Transaction intent worker failed, retrying in {}", reconnectDelay, ex);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    void process(List<TransactionIntent> batch) {
+        var ordered = new ArrayList<>(batch);
+        ordered.sort(ACCOUNT_ORDER);
+        for (int i = 0; i < ordered.size(); i++) {
+            if (stopping) {
+                intentRepo.release(ids(ordered.subList(i, ordered.size())));
+                return;
+            }
+            var intent = ordered.get(i);
+            if (!execute(intent)) {
+                // later intents of the account must wait for this one; skip to the next account
+                int end = i + 1;
+                while (end < ordered.size() && ordered.get(end).getAccountId().equals(intent.getAccountId()))
+                    end++;
+                var delay = retryDelay.multipliedBy(intent.getAttempts() + 1L);
+                intentRepo.requeue(intent.getId(), ids(ordered.subList(i, end)), delay);
+                retryDue.accumulateAndGet(System.nanoTime() + delay.toNanos(), Math::min);
+                i = end - 1;
+            }
+        }
+    }
+
+    /** @return {@code false} if the intent should be retried */
+    private boolean execute(TransactionIntent intent) {
+        var id = intent.getAccountId();
+        var key = intent.getIdempotencyKey() != null ? intent.getIdempotencyKey() : "intent:" + intent.getId();
+        var request = TransactionRequest.builder()
+            .type(intent.getType())
+            .amount(intent.getAmount())
+            .lockingMode(intent.getLockingMode())
+            .reason(intent.getReason())
+            .build();
+        try {
+            var response = idempotencyService.execute(key, "POST /api/accounts/" + id + "/transaction",
+                () -> accountService.executeTransaction(id, request));
+            intentRepo.complete(intent.getId(), response);
+            processed.withTags("outcome", "done").increment();
+            return true;
+        } catch (InsufficientFundsException | AccountNotFoundException | IllegalArgumentException
+                | IllegalStateException ex) {
+            intentRepo.fail(intent.getId(), ex.getMessage());
+            processed.withTags("outcome", "failed").increment();
+            return true;
+        } catch (RuntimeException ex) {
+            if (intent.getAttempts() + 1 >= maxAttempts) {
+                log.warn("Transaction intent {} failed after {} attempts", intent.getId(), maxAttempts, ex);
+                intentRepo.fail(intent.getId(), ex.toString());
+                processed.withTags("outcome", "failed").increment();
+                return true;
+            }
+            log.debug("Transaction intent {} will be retried: {}", intent.getId(), ex.toString());
+            processed.withTags("outcome", "retried").increment();
+            return false;
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSource.determineUrl(), dataSource.determineUsername(), dataSource.determinePassword())) {
+                conn.createStatement().execute("LISTEN " + TransactionIntentRepository.CHANNEL);
+                log.info("Listening for transaction intents on channel {}", TransactionIntentRepository.CHANNEL);
+                // intents may have been queued while nobody listened
+                wake();
+                var pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    if (pg.getNotifications((int) idlePoll.toMillis()) != null)
+                        wake();
+                }
+            } catch (SQLException ex) {
+                if (!running)
+                    return;
+                log.warn("Transaction intent listener lost its connection, reconnecting in {}", reconnectDelay, ex);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private void wake() {
+        lock.lock();
+        try {
+            signals++;
+            wakeUp.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long signalCount() {
+        lock.lock();
+        try {
+            return signals;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Waits for a notification newer than {@code seen}, a due retry or the idle poll */
+    private void await(long seen) {
+        lock.lock();
+        try {
+            long due = retryDue.get();
+            long waitNanos = due == Long.MAX_VALUE ? idlePoll.toNanos()
+                : Math.min(idlePoll.toNanos(), due - System.nanoTime());
+            while (running && signals == seen && waitNanos > 0)
+                waitNanos = wakeUp.awaitNanos(waitNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        long due = retryDue.get();
+        if (due != Long.MAX_VALUE && due - System.nanoTime() <= 0)
+            retryDue.compareAndSet(due, Long.MAX_VALUE);
+    }
+
+    private static List<UUID> ids(List<TransactionIntent> intents) {
+        return intents.stream().map(TransactionIntent::getId).toList();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
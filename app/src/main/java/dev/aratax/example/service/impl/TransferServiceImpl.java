@@ -0,0 +1,251 @@
+package dev.aratax.example.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.model.vo.TransferRequest;
+import dev.aratax.example.model.vo.TransferResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.AccountRowMapper;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.AccountTransaction;
+import dev.aratax.example.service.TransferService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves money between two accounts in one transaction, writing a DEBIT and a CREDIT ledger
+ * leg. Whatever the locking mode, rows are locked in the order PostgreSQL sorts their ids,
+ * the same order {@link AccountRepository#findAllForUpdate} and the group committer use, so
+ * opposing transfers queue behind each other instead of deadlocking.
+ * <p>
+ * ATOMIC between regular accounts skips the entity load entirely: one conditional
+ * {@code UPDATE ... RETURNING} per leg and a single two-row ledger insert. OPTIMISTIC
+ * relies on the version checks at commit and retries the whole transfer. The lane based
+ * modes (SEQUENCED, GROUP_COMMIT) queue single-account operations and cannot hold two
+ * accounts at once, so like PESSIMISTIC they take both row locks up front; so does ADVISORY. AUTO runs
+ * OPTIMISTIC unless {@link ContentionTracker} considers either account contended.
+ */
+@Slf4j
+@Service
+public class TransferServiceImpl implements TransferService {
+
+    /** PostgreSQL compares uuids as unsigned bytes; {@link UUID#compareTo} is signed */
+    static final Comparator<UUID> LOCK_ORDER = (a, b) -> {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private static final String APPLY_LEG = """
+        UPDATE app.accounts
+           SET balance = balance + :delta, version = version + 1, updated_at = now()
+         WHERE id = :id AND balance + :delta >= 0
+     RETURNING id, owner_name, currency, balance, version, updated_at, stripe_count""";
+
+    private static final String INSERT_LEGS = """
+        INSERT INTO app.ledger_entries (account_id, direction, amount, reason)
+        VALUES (:debitId, 'DEBIT', :amount, :reason), (:creditId, 'CREDIT', :amount, :reason)
+     RETURNING id, account_id, created_at""";
+
+    private static final String BALANCE = "SELECT balance FROM app.accounts WHERE id = :id";
+
+    private final AccountRepository accountRepo;
+    private final LedgerEntryRepository ledgerRepo;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final StripedAccountRegistry stripedAccounts;
+    private final ContentionTracker contention;
+    private final TransactionTemplate txTemplate;
+    private final Counter optimisticRetries;
+    private final Counter optimisticExhausted;
+    @Resource(name = StripedAccountTransactionImpl.BEAN_ID)
+    private AccountTransaction stripedAccountTransaction;
+
+    public TransferServiceImpl(AccountRepository accountRepo, LedgerEntryRepository ledgerRepo,
+            NamedParameterJdbcTemplate jdbc, StripedAccountRegistry stripedAccounts,
+            ContentionTracker contention, PlatformTransactionManager txManager, MeterRegistry registry) {
+        this.accountRepo = accountRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.jdbc = jdbc;
+        this.stripedAccounts = stripedAccounts;
+        this.contention = contention;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.optimisticRetries = Counter.builder("app.transfer.optimistic.retries")
+            .description("Optimistic transfer attempts that lost a version check and were retried")
+            .register(registry);
+        this.optimisticExhausted = Counter.builder("app.transfer.optimistic.exhausted")
+            .description("Optimistic transfers that failed after the last retry")
+            .register(registry);
+    }
+
+    @Override
+    public TransferResponse transfer(TransferRequest request) {
+        UUID from = request.getFromAccountId();
+        UUID to = request.getToAccountId();
+        if (from.equals(to))
+            throw new IllegalArgumentException("Source and target account must differ");
+        BigDecimal amt = request.getAmount();
+        String reason = request.getReason() != null ? request.getReason() : "TRANSFER";
+        boolean striped = stripedAccounts.isStriped(from) || stripedAccounts.isStriped(to);
+
+        var mode = request.getLockingMode() == null ? LockingMode.OPTIMISTIC : request.getLockingMode();
+        if (mode == LockingMode.AUTO)
+            mode = contention.isContended(from) || contention.isContended(to)
+                ? LockingMode.PESSIMISTIC : LockingMode.OPTIMISTIC;
+        return switch (mode) {
+            case ATOMIC -> striped
+                ? txTemplate.execute(s -> transferLocked(from, to, amt, reason, true))
+                : txTemplate.execute(s -> transferAtomic(from, to, amt, reason));
+            case OPTIMISTIC -> transferOptimistic(from, to, amt, reason);
+            case PESSIMISTIC, SEQUENCED, GROUP_COMMIT, ADVISORY, AUTO ->
+                txTemplate.execute(s -> transferLocked(from, to, amt, reason, true));
+        };
+    }
+
+    private TransferResponse transferOptimistic(UUID from, UUID to, BigDecimal amt, String reason) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return txTemplate.execute(s -> transferLocked(from, to, amt, reason, false));
+            } catch (OptimisticLockingFailureException ex) {
+                contention.conflict(from);
+                contention.conflict(to);
+                if (++attempt > OptimisticBackoff.MAX_RETRIES) {
+                    optimisticExhausted.increment();
+                    log.warn("Transfer retries exhausted from:{} to:{} amt:{}", from, to, amt);
+                    throw ex;
+                }
+                optimisticRetries.increment();
+                log.debug("Transfer conflict from:{} to:{} amt:{}, attempt {}", from, to, amt, attempt);
+                OptimisticBackoff.sleep(attempt);
+            }
+        }
+    }
+
+    /**
+     * Entity path. Regular accounts are read (and with {@code lock}, row locked) in one
+     * ordered query; striped legs go through {@link StripedAccountTransactionImpl}, which
+     * joins this transaction, after the regular rows are held.
+     */
+    private TransferResponse transferLocked(UUID from, UUID to, BigDecimal amt, String reason, boolean lock) {
+        List<UUID> regular = Stream.of(from, to).filter(id -> !stripedAccounts.isStriped(id)).toList();
+        Map<UUID, Account> accounts = new HashMap<>();
+        (lock ? accountRepo.findAllForUpdate(regular) : accountRepo.findAllById(regular))
+            .forEach(a -> accounts.put(a.getId(), a));
+        requireSameCurrency(currency(accounts, from), currency(accounts, to));
+
+        TransactionResponse debit = null;
+        TransactionResponse credit = null;
+        // regular rows are already held, so their legs go first with the debit leading;
+        // striped legs lock as they write and must follow the canonical order
+        var legs = Stream.concat(
+            Stream.of(from, to).filter(accounts::containsKey),
+            ordered(from, to).stream().filter(id -> !accounts.containsKey(id)));
+        for (UUID id : (Iterable<UUID>) legs::iterator) {
+            if (id.equals(from))
+                debit = applyLeg(id, accounts.get(id), TransactionType.WITHDRAWAL, amt, reason);
+            else
+                credit = applyLeg(id, accounts.get(id), TransactionType.DEPOSIT, amt, reason);
+        }
+        return TransferResponse.success(debit, credit);
+    }
+
+    private TransactionResponse applyLeg(UUID id, Account account, TransactionType type, BigDecimal amt, String reason) {
+        if (account == null)
+            return stripedAccountTransaction.execute(id, type, amt, reason);
+        if (TransactionType.DEPOSIT.equals(type))
+            account.deposit(amt);
+        else
+            account.withdraw(amt);
+        var ledgerEntry = ledgerRepo.save(LedgerEntry.of(account, type, amt, reason));
+        return TransactionResponse.success(account, ledgerEntry);
+    }
+
+    /**
+     * Same-currency fast path: each leg is a guarded in-place update, so the balance check
+     * and the row lock happen in the same statement. A currency mismatch is only detected
+     * from the returned rows and rolls both legs back.
+     */
+    private TransferResponse transferAtomic(UUID from, UUID to, BigDecimal amt, String reason) {
+        Map<UUID, Account> accounts = new HashMap<>();
+        for (UUID id : ordered(from, to)) {
+            var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("delta", id.equals(from) ? amt.negate() : amt);
+            List<Account> rows = jdbc.query(APPLY_LEG, params, AccountRowMapper.INSTANCE);
+            if (rows.isEmpty())
+                throw rejected(id, amt);
+            accounts.put(id, rows.get(0));
+        }
+        requireSameCurrency(accounts.get(from).getCurrency(), accounts.get(to).getCurrency());
+
+        var params = new MapSqlParameterSource()
+            .addValue("debitId", from)
+            .addValue("creditId", to)
+            .addValue("amount", amt)
+            .addValue("reason", reason, Types.VARCHAR);
+        Map<UUID, LedgerEntry> entries = new HashMap<>();
+        jdbc.query(INSERT_LEGS, params, rs -> {
+            var account = accounts.get(rs.getObject("account_id", UUID.class));
+            var type = account.getId().equals(from) ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+            var entry = LedgerEntry.of(account, type, amt, reason);
+            entry.setId(rs.getObject("id", UUID.class));
+            entry.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant());
+            entries.put(account.getId(), entry);
+        });
+        return TransferResponse.success(
+            TransactionResponse.success(accounts.get(from), entries.get(from)),
+            TransactionResponse.success(accounts.get(to), entries.get(to)));
+    }
+
+    /** Empty RETURNING: the row is missing or the guard rejected the debit */
+    private RuntimeException rejected(UUID id, BigDecimal amt) {
+        List<BigDecimal> balance = jdbc.queryForList(BALANCE, new MapSqlParameterSource("id", id), BigDecimal.class);
+        if (balance.isEmpty())
+            return new AccountNotFoundException(id);
+        return new InsufficientFundsException(id, amt, balance.get(0));
+    }
+
+    private String currency(Map<UUID, Account> accounts, UUID id) {
+        var account = accounts.get(id);
+        if (account != null)
+            return account.getCurrency();
+        if (!stripedAccounts.isStriped(id))
+            throw new AccountNotFoundException(id);
+        return accountRepo.findCurrency(id).orElseThrow(() -> new AccountNotFoundException(id));
+    }
+
+    /** There is no FX conversion in this service; both legs must carry the same amount */
+    private static void requireSameCurrency(String from, String to) {
+        if (!from.equals(to))
+            throw new IllegalArgumentException("Cross-currency transfers are not supported: " + from + " -> " + to);
+    }
+
+    static List<UUID> ordered(UUID a, UUID b) {
+        return LOCK_ORDER.compare(a, b) <= 0 ? List.of(a, b) : List.of(b, a);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.aratax.example.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-memory cache evicting by size and by age. Entries are kept in insertion order,
+ * so the eldest entry is both the first to expire and the first to go when the cache is full.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long evictions;
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= BoundedCache.this.maxSize)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value, or {@code null} when absent or expired
+     */
+    public synchronized V get(K key) {
+        var entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            evictions++;
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        evictExpired();
+    }
+
+    /**
+     * @return {@code true} if an entry was removed
+     */
+    public synchronized boolean remove(K key) {
+        return entries.remove(key) != null;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return entries dropped so far because they expired or the cache was full
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        var it = entries.values().iterator();
+        while (it.hasNext() && now - it.next().createdAt > ttlNanos) {
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private record Entry<V>(V value, long createdAt) {}
+
+}
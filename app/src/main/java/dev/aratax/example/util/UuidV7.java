@@ -0,0 +1,42 @@
+package dev.aratax.example.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class UuidV7 {
+
+    private UuidV7() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Generates a time-ordered UUID (RFC 9562 version 7), matching the {@code uuidv7()}
+     * column defaults so application-assigned ids sort the same way as database-assigned ones
+     * @return a new version 7 UUID
+     */
+    public static UUID next() {
+        return of(System.currentTimeMillis());
+    }
+
+    /**
+     * Smallest version 7 UUID of the given millisecond, for turning a time bound into an id bound
+     * @param epochMillis unix timestamp in milliseconds
+     * @return the lowest version 7 UUID with that timestamp
+     */
+    public static UUID min(long epochMillis) {
+        return new UUID((epochMillis << 16) | 0x7000L, 0x8000000000000000L);
+    }
+
+    /**
+     * Builds a version 7 UUID for the given timestamp with random low bits
+     * @param epochMillis unix timestamp in milliseconds
+     * @return a version 7 UUID
+     */
+    public static UUID of(long epochMillis) {
+        var random = ThreadLocalRandom.current();
+        long msb = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+}
@@ -0,0 +1,221 @@
+package dev.aratax.example.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.aratax.example.enums.Direction;
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LedgerArchive Tests")
+class LedgerArchiveTest {
+
+    private static final Instant JANUARY = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant FEBRUARY = Instant.parse("2025-02-01T00:00:00Z");
+    private static final Comparator<LedgerEntryDto> SEGMENT_ORDER = Comparator
+        .comparing(LedgerEntryDto::getAccountId, LedgerSegment::compare)
+        .thenComparing(LedgerEntryDto::getId, LedgerSegment::compare);
+
+    @TempDir
+    private Path dir;
+
+    private UUID accountId;
+    private UUID otherId;
+    private List<LedgerEntryDto> january;
+    private List<LedgerEntryDto> february;
+    private LedgerArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        accountId = UUID.randomUUID();
+        otherId = UUID.randomUUID();
+        january = entries(JANUARY);
+        february = entries(FEBRUARY);
+        // small blocks so that every read crosses several of them
+        write("ledger_entries_p202501", january, 4);
+        write("ledger_entries_p202502", february, 4);
+        archive = new LedgerArchive(dir, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should read back every column as it was written")
+    void testRoundTrip() {
+        // When
+        var read = new ArrayList<LedgerEntryDto>();
+        archive.stream(accountId, null, null, read::add);
+
+        // Then
+        var expected = new ArrayList<>(january);
+        expected.addAll(february);
+        assertEquals(expected.stream().filter(e -> e.getAccountId().equals(accountId)).toList(), read);
+    }
+
+    @Test
+    @DisplayName("Should continue a descending page from the hot table into the newest archived month")
+    void testMergePage() {
+        // Given
+        var hot = LedgerEntryDto.builder().id(UuidV7.next()).accountId(accountId).direction("CREDIT")
+            .amount(BigDecimal.ONE).createdAt(Instant.now()).build();
+        var newest = mine(february).reversed();
+
+        // When
+        var page = archive.mergePage(accountId, new LedgerQuery(), List.of(hot), 3);
+        var next = archive.mergePage(accountId, LedgerQuery.builder().cursor(page.get(2).getId()).build(), List.of(), 3);
+
+        // Then
+        assertSame(hot, page.get(0));
+        assertEquals(newest.subList(0, 2), page.subList(1, 3));
+        assertEquals(newest.subList(2, 5), next);
+    }
+
+    @Test
+    @DisplayName("Should apply the direction and time filters across months in ascending order")
+    void testFilteredAscendingPage() {
+        // Given
+        var from = JANUARY.plus(Duration.ofHours(5));
+        var to = FEBRUARY.plus(Duration.ofHours(5));
+        var query = LedgerQuery.builder().direction(Direction.DEBIT).from(from).to(to).ascending(true).build();
+        var mine = new ArrayList<>(mine(january));
+        mine.addAll(mine(february));
+        var expected = mine.stream()
+            .filter(e -> e.getDirection().equals("DEBIT"))
+            .filter(e -> !e.getCreatedAt().isBefore(from) && e.getCreatedAt().isBefore(to))
+            .toList();
+
+        // When
+        var page = archive.mergePage(accountId, query, List.of(), 100);
+
+        // Then
+        assertEquals(expected, page);
+    }
+
+    @Test
+    @DisplayName("Should refuse a window across accounts that reaches into archived months")
+    void testStreamAcrossAccounts() {
+        // Given
+        var archived = FEBRUARY.plus(Duration.ofHours(3));
+        var later = FEBRUARY.plus(Duration.ofDays(40));
+
+        // When & Then
+        assertTrue(archive.overlaps(JANUARY.plus(Duration.ofHours(10)), archived));
+        assertThrows(IllegalArgumentException.class, () -> archive.stream(null, JANUARY, archived, entry -> {}));
+        assertFalse(archive.overlaps(later, later.plus(Duration.ofDays(1))));
+        archive.stream(null, later, later.plus(Duration.ofDays(1)), entry -> {
+            throw new AssertionError("nothing archived in the window");
+        });
+    }
+
+    @Test
+    @DisplayName("Should fail on a damaged block or index instead of returning its entries")
+    void testChecksums() throws IOException {
+        // Given
+        var bytes = Files.readAllBytes(dir.resolve("ledger_entries_p202501" + LedgerArchive.SUFFIX));
+        var block = bytes.clone();
+        block[20] ^= 0x01;
+        var index = bytes.clone();
+        index[bytes.length - LedgerSegment.FOOTER_BYTES - 3] ^= 0x01;
+
+        // When
+        var damagedBlock = Files.write(dir.resolve("damaged-block"), block);
+        var damagedIndex = Files.write(dir.resolve("damaged-index"), index);
+        var segment = LedgerSegment.open(damagedBlock);
+
+        // Then
+        assertThrows(UncheckedIOException.class, () -> segment.scan(null, null, null, true, false, entry -> true));
+        assertThrows(IOException.class, () -> LedgerSegment.open(damagedIndex));
+    }
+
+    @Test
+    @DisplayName("Should sum the archived tail after a boundary id up to asOf")
+    void testSumTail() {
+        // Given
+        var fromId = UuidV7.min(JANUARY.plus(Duration.ofHours(6)).toEpochMilli());
+        var asOf = FEBRUARY.plus(Duration.ofHours(4));
+
+        // When
+        var tail = archive.sumTail(accountId, fromId, asOf);
+
+        // Then
+        var expected = new ArrayList<>(mine(january));
+        expected.addAll(mine(february));
+        var counted = expected.stream()
+            .filter(e -> LedgerSegment.compare(e.getId(), fromId) >= 0 && e.getCreatedAt().isBefore(asOf))
+            .toList();
+        assertEquals(counted.size(), tail.entries());
+        assertEquals(counted.stream()
+            .map(e -> e.getDirection().equals("CREDIT") ? e.getAmount() : e.getAmount().negate())
+            .reduce(BigDecimal.ZERO, BigDecimal::add), tail.net());
+    }
+
+    @Test
+    @DisplayName("Should refuse rows out of order and leave no file behind without a commit")
+    void testWriterOrder() throws IOException {
+        // Given
+        var file = dir.resolve("ledger_entries_p202412" + LedgerArchive.SUFFIX);
+
+        // When & Then
+        try (var writer = new LedgerSegmentWriter(file, 4)) {
+            writer.append(february.get(1));
+            assertThrows(IllegalStateException.class, () -> writer.append(february.get(0)));
+        }
+        assertFalse(Files.exists(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    /** Twelve hourly entries for each of the two accounts, in segment order */
+    private List<LedgerEntryDto> entries(Instant month) {
+        var entries = new ArrayList<LedgerEntryDto>();
+        for (int hour = 0; hour < 12; hour++) {
+            var createdAt = month.plus(Duration.ofHours(hour)).plusNanos(123_000);
+            for (var account : List.of(accountId, otherId)) {
+                entries.add(LedgerEntryDto.builder()
+                    .id(UuidV7.of(createdAt.toEpochMilli() + 3))
+                    .accountId(account)
+                    .direction(hour % 3 == 0 ? "DEBIT" : "CREDIT")
+                    .amount(new BigDecimal(hour + 1 + ".25"))
+                    .reason(hour % 4 == 0 ? null : "payroll " + hour)
+                    .createdAt(createdAt)
+                    .build());
+            }
+        }
+        entries.sort(SEGMENT_ORDER);
+        return entries;
+    }
+
+    private List<LedgerEntryDto> mine(List<LedgerEntryDto> entries) {
+        return entries.stream().filter(e -> e.getAccountId().equals(accountId)).toList();
+    }
+
+    private void write(String name, List<LedgerEntryDto> entries, int blockRows) throws IOException {
+        try (var writer = new LedgerSegmentWriter(dir.resolve(name + LedgerArchive.SUFFIX), blockRows)) {
+            for (var entry : entries)
+                writer.append(entry);
+            writer.commit();
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.aratax.example.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.repository.LedgerEntryRepositoryCustom.Tail;
+import dev.aratax.example.repository.LedgerPartitionRepository;
+import dev.aratax.example.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerArchiver Tests")
+class LedgerArchiverTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 1);
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private LedgerPartitionRepository partitionRepo;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    @TempDir
+    private Path dir;
+
+    private Path file;
+    private List<LedgerEntryDto> entries;
+    private Map<UUID, Tail> totals;
+    private LedgerArchive archive;
+    private LedgerArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve(LedgerPartitionRepository.name(MONTH) + LedgerArchive.SUFFIX);
+        entries = entries();
+        totals = new HashMap<>();
+        for (var entry : entries) {
+            var amount = "CREDIT".equals(entry.getDirection()) ? entry.getAmount() : entry.getAmount().negate();
+            totals.merge(entry.getAccountId(), new Tail(amount, 1), Tail::plus);
+        }
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(partitionRepo.tryLock()).thenReturn(true);
+        when(partitionRepo.findDetached()).thenReturn(List.of(MONTH));
+        when(partitionRepo.findDetachedTotals(MONTH)).thenAnswer(inv -> totals);
+        doAnswer(inv -> {
+            Consumer<LedgerEntryDto> sink = inv.getArgument(1);
+            entries.forEach(sink);
+            return null;
+        }).when(partitionRepo).streamDetached(any(), any());
+        archive = new LedgerArchive(dir, new SimpleMeterRegistry());
+        archiver = new LedgerArchiver(partitionRepo, archive, txManager, dir, 4, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should drop the partition only after its segment is verified and in place")
+    void testWritesBeforeDrop() {
+        // Given
+        doAnswer(inv -> {
+            assertTrue(Files.exists(file));
+            return null;
+        }).when(partitionRepo).drop(MONTH);
+        var account = entries.get(0).getAccountId();
+
+        // When
+        archiver.archiveDetached();
+
+        // Then
+        var order = inOrder(partitionRepo, txManager);
+        order.verify(partitionRepo).tryLock();
+        order.verify(partitionRepo).streamDetached(any(), any());
+        order.verify(partitionRepo).drop(MONTH);
+        order.verify(txManager).commit(any());
+        assertEquals(totals.get(account), archive.sumTail(account, new UUID(0, 0), START.plus(Duration.ofDays(31))));
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another replica holds the partition lock")
+    void testLockHeld() {
+        // Given
+        when(partitionRepo.tryLock()).thenReturn(false);
+
+        // When
+        archiver.archiveDetached();
+
+        // Then
+        verify(partitionRepo, never()).streamDetached(any(), any());
+        verify(partitionRepo, never()).drop(any());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should keep the table when the drop fails")
+    void testFailedDrop() {
+        // Given
+        doThrow(new CannotAcquireLockException("lock timeout")).when(partitionRepo).drop(MONTH);
+
+        // When
+        archiver.archiveDetached();
+
+        // Then
+        verify(txManager).rollback(any());
+        verify(txManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should neither publish the segment nor drop the table when it does not match the totals")
+    void testMismatchedTotals() throws IOException {
+        // Given
+        var account = entries.get(0).getAccountId();
+        totals.put(account, totals.get(account).plus(new Tail(BigDecimal.ONE, 0)));
+
+        // When
+        archiver.archiveDetached();
+
+        // Then
+        verify(partitionRepo, never()).drop(any());
+        verify(txManager).rollback(any());
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to start on a relative directory")
+    void testRelativeDir() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new LedgerArchiver(partitionRepo, archive, txManager,
+            Path.of("ledger-archive"), 4, Duration.ofSeconds(5)));
+    }
+
+    /** Ten entries for each of three accounts, in (account_id, id) order */
+    private List<LedgerEntryDto> entries() {
+        var accounts = new ArrayList<UUID>(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+        accounts.sort(LedgerSegment::compare);
+        var entries = new ArrayList<LedgerEntryDto>();
+        for (var account : accounts) {
+            for (int hour = 0; hour < 10; hour++) {
+                var createdAt = START.plus(Duration.ofHours(hour));
+                entries.add(LedgerEntryDto.builder()
+                    .id(UuidV7.of(createdAt.toEpochMilli()))
+                    .accountId(account)
+                    .direction(hour % 3 == 0 ? "DEBIT" : "CREDIT")
+                    .amount(new BigDecimal(hour + 1 + ".50"))
+                    .reason("entry " + hour)
+                    .createdAt(createdAt)
+                    .build());
+            }
+        }
+        return entries;
+    }
+
+}
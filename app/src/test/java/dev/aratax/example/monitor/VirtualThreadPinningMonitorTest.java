@@ -0,0 +1,87 @@
+package dev.aratax.example.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should record a virtual thread that sleeps while holding a monitor")
+    void testPinnedSleep() throws InterruptedException {
+        // Given
+        var lock = new Object();
+        monitor.start();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Then
+        var timer = registry.get("app.virtual-threads.pinned").timer();
+        // the recording stream flushes about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (timer.count() == 0 && System.nanoTime() < deadline)
+            Thread.sleep(50);
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    @DisplayName("Should ignore pinning below the threshold and stop cleanly")
+    void testBelowThresholdAndStop() throws InterruptedException {
+        // Given
+        var lock = new Object();
+        monitor.start();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+        Thread.sleep(1500);
+        monitor.stop();
+
+        // Then
+        assertEquals(0, registry.get("app.virtual-threads.pinned").timer().count());
+        assertFalse(monitor.isRunning());
+    }
+
+}
@@ -0,0 +1,105 @@
+package dev.aratax.example.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.aratax.example.replica.ReplicaRoutingDataSource.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor monitor;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        when(monitor.isAvailable()).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(primary, replica, monitor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("Should keep read-write transactions on the primary")
+    void testWritesOnPrimary() {
+        // When & Then
+        assertEquals(Target.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica")
+    void testReadsOnReplica() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertEquals(Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary until the replica has replayed the client's token")
+    void testTokenAheadOfReplica() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        long token = ReadConsistency.parse("16/B374D848");
+        ReadConsistency.bind(token);
+        when(monitor.hasReplayed(token)).thenReturn(false, true);
+
+        // When & Then
+        assertEquals(Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unavailable")
+    void testReplicaUnavailable() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitor.isAvailable()).thenReturn(false);
+
+        // When & Then
+        assertEquals(Target.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should parse LSNs as PostgreSQL prints them")
+    void testParseLsn() {
+        // When
+        long lsn = ReadConsistency.parse("16/B374D848");
+
+        // Then
+        assertEquals(0x16B374D848L, lsn);
+        assertThrows(IllegalArgumentException.class, () -> ReadConsistency.parse("B374D848"));
+        assertThrows(IllegalArgumentException.class, () -> ReadConsistency.parse("-1/0"));
+    }
+
+}
@@ -0,0 +1,170 @@
+package dev.aratax.example.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.BalanceSnapshot;
+import dev.aratax.example.util.UuidV7;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("BalanceSnapshot Repository Tests")
+class BalanceSnapshotRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+        new PostgreSQLContainer<>("postgres:18")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("init.sql");
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Account account;
+    private Account other;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(account("Snapshot User"));
+        other = accountRepository.save(account("Other User"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should count an entry on the boundary id in the next checkpoint, not the one it bounds")
+    void testBoundaryId() {
+        // Given
+        var boundary = UuidV7.min(T0.plusSeconds(20).toEpochMilli());
+        insert(UuidV7.of(T0.plusSeconds(10).toEpochMilli()), account, "CREDIT", "100.00");
+        insert(boundary, account, "DEBIT", "30.00");
+        var first = T0.plusSeconds(20);
+        var second = T0.plusSeconds(30);
+
+        // When
+        int firstRoll = snapshotRepository.rollForward(first, new UUID(0, 0), boundary);
+        int secondRoll = snapshotRepository.rollForward(second, boundary, UuidV7.min(second.toEpochMilli()));
+
+        // Then
+        assertEquals(1, firstRoll);
+        assertEquals(1, secondRoll);
+        assertSnapshot(account, first, boundary, "100.00");
+        assertSnapshot(account, second, UuidV7.min(second.toEpochMilli()), "70.00");
+    }
+
+    @Test
+    @DisplayName("Should roll only accounts with new entries forward from their own latest snapshot")
+    void testIncrementalRoll() {
+        // Given
+        var first = T0.plusSeconds(60);
+        var second = T0.plusSeconds(120);
+        var third = T0.plusSeconds(180);
+        insert(UuidV7.of(T0.plusSeconds(10).toEpochMilli()), account, "CREDIT", "50.00");
+        insert(UuidV7.of(T0.plusSeconds(20).toEpochMilli()), other, "CREDIT", "5.00");
+        insert(UuidV7.of(T0.plusSeconds(70).toEpochMilli()), account, "CREDIT", "25.00");
+        insert(UuidV7.of(T0.plusSeconds(130).toEpochMilli()), account, "DEBIT", "10.00");
+        insert(UuidV7.of(T0.plusSeconds(140).toEpochMilli()), other, "DEBIT", "1.00");
+
+        // When
+        int firstRoll = snapshotRepository.rollForward(first, new UUID(0, 0), UuidV7.min(first.toEpochMilli()));
+        int secondRoll = snapshotRepository.rollForward(second, UuidV7.min(first.toEpochMilli()),
+            UuidV7.min(second.toEpochMilli()));
+        int thirdRoll = snapshotRepository.rollForward(third, UuidV7.min(second.toEpochMilli()),
+            UuidV7.min(third.toEpochMilli()));
+
+        // Then
+        assertEquals(2, firstRoll);
+        assertEquals(1, secondRoll);
+        assertEquals(2, thirdRoll);
+        assertSnapshot(account, first, UuidV7.min(first.toEpochMilli()), "50.00");
+        assertSnapshot(account, second, UuidV7.min(second.toEpochMilli()), "75.00");
+        assertSnapshot(account, third, UuidV7.min(third.toEpochMilli()), "65.00");
+        // no entries for the other account in the second window, so no row was written for it
+        assertSnapshot(other, second, UuidV7.min(first.toEpochMilli()), "5.00");
+        assertSnapshot(other, third, UuidV7.min(third.toEpochMilli()), "4.00");
+        assertEquals(T0.plusSeconds(180), snapshotRepository.findLatestAsOf().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should leave an existing checkpoint untouched when it is rolled again")
+    void testRepeatedRoll() {
+        // Given
+        var asOf = T0.plusSeconds(60);
+        insert(UuidV7.of(T0.plusSeconds(10).toEpochMilli()), account, "CREDIT", "50.00");
+        snapshotRepository.rollForward(asOf, new UUID(0, 0), UuidV7.min(asOf.toEpochMilli()));
+
+        // When
+        int again = snapshotRepository.rollForward(asOf, new UUID(0, 0), UuidV7.min(asOf.toEpochMilli()));
+
+        // Then
+        assertEquals(0, again);
+        assertSnapshot(account, asOf, UuidV7.min(asOf.toEpochMilli()), "50.00");
+    }
+
+    private void assertSnapshot(Account owner, Instant asOf, UUID boundaryId, String balance) {
+        entityManager.clear();
+        var snapshot = snapshotRepository.findLatest(owner.getId(), asOf);
+        assertTrue(snapshot.isPresent());
+        BalanceSnapshot found = snapshot.get();
+        assertEquals(boundaryId, found.getBoundaryId());
+        assertEquals(0, new BigDecimal(balance).compareTo(found.getBalance()));
+    }
+
+    private void insert(UUID id, Account owner, String direction, String amount) {
+        entityManager.getEntityManager().createNativeQuery("""
+            INSERT INTO app.ledger_entries (id, account_id, direction, amount, created_at)
+            VALUES (:id, :accountId, :direction, :amount, :createdAt)""")
+            .setParameter("id", id)
+            .setParameter("accountId", owner.getId())
+            .setParameter("direction", direction)
+            .setParameter("amount", new BigDecimal(amount))
+            .setParameter("createdAt", Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16))
+            .executeUpdate();
+    }
+
+    private static Account account(String owner) {
+        var account = new Account();
+        account.setOwnerName(owner);
+        account.setBalance(BigDecimal.ZERO);
+        account.setCurrency("USD");
+        account.setUpdatedAt(Instant.now());
+        return account;
+    }
+
+}
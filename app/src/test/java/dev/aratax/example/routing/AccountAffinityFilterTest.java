@@ -0,0 +1,290 @@
+package dev.aratax.example.routing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.sun.net.httpserver.HttpServer;
+
+import dev.aratax.example.enums.RoutingMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+
+@DisplayName("AccountAffinityFilter Tests")
+class AccountAffinityFilterTest {
+
+    private static final String SECRET = "test-secret";
+    private static final byte[] BODY = "{\"amount\":10.00}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer owner;
+    private ServerSocket resetting;
+    private String ownerUrl;
+    private String resettingUrl;
+    private String deadUrl;
+    private String self;
+    private final AtomicReference<String> receivedMethod = new AtomicReference<>();
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedRouted = new AtomicReference<>();
+    private volatile Duration ownerDelay = Duration.ZERO;
+    private SimpleMeterRegistry registry;
+    private ReplicaMembership membership;
+    private AccountAffinityFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/", exchange -> {
+            receivedMethod.set(exchange.getRequestMethod());
+            receivedBody.set(exchange.getRequestBody().readAllBytes());
+            receivedRouted.set(exchange.getRequestHeaders().getFirst(AccountAffinityFilter.ROUTED_HEADER));
+            try {
+                Thread.sleep(ownerDelay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            var response = "owned".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Owner", "yes");
+            exchange.sendResponseHeaders(201, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        owner.start();
+        ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+
+        // accepts the connection, then closes it without an answer
+        resetting = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(() -> {
+            while (!resetting.isClosed()) {
+                try (var socket = resetting.accept()) {
+                    socket.getInputStream().read(new byte[1024]);
+                } catch (IOException ex) {
+                    // closed by tearDown
+                }
+            }
+        });
+        resettingUrl = "http://127.0.0.1:" + resetting.getLocalPort();
+
+        try (var unused = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            deadUrl = "http://127.0.0.1:" + unused.getLocalPort();
+        }
+        try (var unused = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            self = "http://127.0.0.1:" + unused.getLocalPort();
+        }
+
+        registry = new SimpleMeterRegistry();
+        membership = new ReplicaMembership(registry, self, String.join(",", ownerUrl, resettingUrl, deadUrl), "",
+            8080, 64);
+        filter = new AccountAffinityFilter(membership, registry, RoutingMode.FORWARD, Duration.ofSeconds(1),
+            Duration.ofMillis(300), SECRET);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        owner.stop(0);
+        resetting.close();
+    }
+
+    @Test
+    @DisplayName("Should forward to the owner with the body and a signed header and relay its response")
+    void testForward() throws Exception {
+        // Given
+        var request = post(accountOwnedBy(ownerUrl));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(201, response.getStatus());
+        assertEquals("owned", response.getContentAsString());
+        assertEquals("yes", response.getHeader("X-Owner"));
+        assertEquals("POST", receivedMethod.get());
+        assertArrayEquals(BODY, receivedBody.get());
+        var routed = post(request.getRequestURI());
+        routed.addHeader(AccountAffinityFilter.ROUTED_HEADER, receivedRouted.get());
+        assertTrue(filter.isRouted(routed));
+        assertEquals(1, count("forwarded"));
+    }
+
+    @Test
+    @DisplayName("Should serve accounts owned by this replica and event streams locally")
+    void testLocal() throws Exception {
+        // Given
+        var request = post(accountOwnedBy(self));
+        var events = new MockHttpServletRequest("GET", "/api/accounts/" + accountIdOwnedBy(ownerUrl) + "/events");
+        var chain = new MockFilterChain();
+        var eventsChain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(events, new MockHttpServletResponse(), eventsChain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        assertNotNull(eventsChain.getRequest());
+        assertNull(receivedMethod.get());
+        assertEquals(1, count("local"));
+    }
+
+    @Test
+    @DisplayName("Should serve a request routed by a replica locally and route one with a forged header")
+    void testRoutedHeader() throws Exception {
+        // Given
+        var path = accountOwnedBy(ownerUrl);
+        var signed = post(path);
+        signed.addHeader(AccountAffinityFilter.ROUTED_HEADER, filter.sign("POST", path));
+        var forged = post(path);
+        forged.addHeader(AccountAffinityFilter.ROUTED_HEADER, ownerUrl + " " + System.currentTimeMillis() / 1000 + " AAAA");
+        var otherSecret = new AccountAffinityFilter(membership, registry, RoutingMode.FORWARD, Duration.ofSeconds(1),
+            Duration.ofMillis(300), "other-secret");
+        var foreign = post(path);
+        foreign.addHeader(AccountAffinityFilter.ROUTED_HEADER, otherSecret.sign("POST", path));
+        var signedChain = new MockFilterChain();
+        var forgedChain = new MockFilterChain();
+
+        // When
+        filter.doFilter(signed, new MockHttpServletResponse(), signedChain);
+        filter.doFilter(forged, new MockHttpServletResponse(), forgedChain);
+
+        // Then
+        assertNotNull(signedChain.getRequest());
+        assertNull(forgedChain.getRequest());
+        assertEquals(1, count("forwarded"));
+        assertFalse(filter.isRouted(foreign));
+        assertNotNull(receivedRouted.get());
+        assertFalse(receivedRouted.get().endsWith(" AAAA"));
+    }
+
+    @Test
+    @DisplayName("Should serve locally with the body replayed when the owner refuses the connection")
+    void testFallbackOnConnectFailure() throws Exception {
+        // Given
+        var request = post(accountOwnedBy(deadUrl));
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        assertArrayEquals(BODY, chain.getRequest().getInputStream().readAllBytes());
+        assertEquals(1, count("fallback"));
+    }
+
+    @Test
+    @DisplayName("Should answer 504 and not serve locally when the owner does not answer in time")
+    void testTimeout() throws Exception {
+        // Given
+        ownerDelay = Duration.ofSeconds(2);
+        var request = post(accountOwnedBy(ownerUrl));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(504, response.getStatus());
+        assertEquals(1, count("failed"));
+    }
+
+    @Test
+    @DisplayName("Should answer 502 and not serve locally when the owner drops the connection")
+    void testBadGateway() throws Exception {
+        // Given
+        var request = post(accountOwnedBy(resettingUrl));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(502, response.getStatus());
+        assertEquals(1, count("failed"));
+    }
+
+    @Test
+    @DisplayName("Should replay a cached body to a read listener")
+    void testCachedBodyReadListener() throws Exception {
+        // Given
+        var input = new AccountAffinityFilter.CachedBodyRequest(post("/api/accounts/x"), BODY).getInputStream();
+        var calls = new ArrayList<String>();
+        var read = new byte[1][];
+
+        // When
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("available");
+                read[0] = input.readAllBytes();
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("error");
+            }
+        });
+
+        // Then
+        assertEquals(List.of("available", "done"), calls);
+        assertArrayEquals(BODY, read[0]);
+        assertTrue(input.isFinished());
+    }
+
+    private MockHttpServletRequest post(String path) {
+        var request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(BODY);
+        return request;
+    }
+
+    private String accountOwnedBy(String member) {
+        return "/api/accounts/" + accountIdOwnedBy(member) + "/transaction";
+    }
+
+    private UUID accountIdOwnedBy(String member) {
+        while (true) {
+            var id = UUID.randomUUID();
+            if (membership.owner(id).equals(member))
+                return id;
+        }
+    }
+
+    private double count(String outcome) {
+        var counter = registry.find("app.routing.requests").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.aratax.example.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HashRing Tests")
+class HashRingTest {
+
+    private static final List<String> MEMBERS =
+        List.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+
+    @Test
+    @DisplayName("Should give every replica the same owner regardless of member order")
+    void testDeterministic() {
+        // Given
+        var ring = new HashRing(MEMBERS, 64);
+        var reversed = new HashRing(MEMBERS.reversed(), 64);
+
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            assertEquals(ring.owner(id), reversed.owner(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread accounts over all members and move only the new member's share")
+    void testBalanceAndMinimalMovement() {
+        // Given
+        var ring = new HashRing(MEMBERS, 64);
+        var grown = new HashRing(List.of(MEMBERS.get(0), MEMBERS.get(1), MEMBERS.get(2), "http://localhost:8083"), 64);
+        Map<String, Integer> owned = new HashMap<>();
+        int moved = 0;
+        int accounts = 30_000;
+
+        // When
+        for (int i = 0; i < accounts; i++) {
+            UUID id = UUID.randomUUID();
+            String before = ring.owner(id);
+            owned.merge(before, 1, Integer::sum);
+            String after = grown.owner(id);
+            if (!before.equals(after)) {
+                moved++;
+                assertEquals("http://localhost:8083", after);
+            }
+        }
+
+        // Then: about a third each, and about a quarter moved to the newcomer
+        owned.values().forEach(count -> assertTrue(count > accounts / 5, "unbalanced: " + owned));
+        assertTrue(moved > accounts / 8 && moved < accounts / 2, "moved " + moved);
+    }
+
+    @Test
+    @DisplayName("Should have no owner when the ring is empty")
+    void testEmpty() {
+        assertNull(new HashRing(List.of(), 64).owner(UUID.randomUUID()));
+    }
+
+}
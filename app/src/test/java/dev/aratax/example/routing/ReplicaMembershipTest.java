@@ -0,0 +1,71 @@
+package dev.aratax.example.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ReplicaMembership Tests")
+class ReplicaMembershipTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without its own URL")
+    void testSelfRequired() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> new ReplicaMembership(registry, " ", "http://localhost:8081", "", 8080, 64));
+    }
+
+    @Test
+    @DisplayName("Should spread accounts over the static peers and itself, ignoring trailing slashes")
+    void testStaticPeers() {
+        // Given
+        var membership = new ReplicaMembership(registry, "http://localhost:8080/",
+            " http://localhost:8081/ ,http://localhost:8082,,", "", 8080, 64);
+        Set<String> owners = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 1000; i++)
+            owners.add(membership.owner(UUID.randomUUID()));
+
+        // Then
+        assertEquals(Set.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082"), owners);
+        assertEquals("http://localhost:8080", membership.self());
+        assertTrue(membership.isSelf("http://localhost:8080"));
+        assertFalse(membership.isSelf("http://localhost:8081"));
+        assertEquals(3, registry.get("app.routing.members").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should own every account alone and keep itself when DNS cannot be resolved")
+    void testAloneAndUnresolvedDns() {
+        // Given
+        var membership = new ReplicaMembership(registry, "http://localhost:8080", "", "unresolvable.invalid", 8080, 64);
+
+        // When
+        membership.refresh();
+
+        // Then
+        for (int i = 0; i < 100; i++)
+            assertEquals("http://localhost:8080", membership.owner(UUID.randomUUID()));
+        assertEquals(1, registry.get("app.routing.members").gauge().value());
+    }
+
+}
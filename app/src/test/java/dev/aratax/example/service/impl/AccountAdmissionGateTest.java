@@ -0,0 +1,131 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.aratax.example.exception.AccountBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("AccountAdmissionGate Tests")
+class AccountAdmissionGateTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        accountId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should let only one transaction per account run at a time")
+    void testSerializesSameAccount() throws Exception {
+        // Given
+        var gate = new AccountAdmissionGate(registry, true, 16, 64, Duration.ofSeconds(5));
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        // When
+        Future<?>[] calls = new Future<?>[20];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = executor.submit(() -> gate.call(accountId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                return running.decrementAndGet();
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertEquals(1, maxRunning.get());
+        assertEquals(0.0, registry.get("app.admission.queued").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should reject a waiter when the stripe queue is full")
+    void testQueueFull() throws Exception {
+        // Given: one holder and one waiter fill a queue of one
+        var gate = new AccountAdmissionGate(registry, true, 16, 1, Duration.ofSeconds(5));
+        var release = new CountDownLatch(1);
+        var holding = new CountDownLatch(1);
+        var holder = executor.submit(() -> gate.call(accountId, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+        var waiter = executor.submit(() -> gate.call(accountId, () -> null));
+        while (registry.get("app.admission.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThrows(AccountBusyException.class, () -> gate.call(accountId, () -> null));
+        assertEquals(1.0, registry.counter("app.admission.rejected", "cause", "queue-full").count());
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        waiter.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should give up after the timeout")
+    void testTimeout() throws Exception {
+        // Given
+        var gate = new AccountAdmissionGate(registry, true, 16, 64, Duration.ofMillis(50));
+        var release = new CountDownLatch(1);
+        var holding = new CountDownLatch(1);
+        var holder = executor.submit(() -> gate.call(accountId, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+
+        // When & Then
+        assertThrows(AccountBusyException.class, () -> gate.call(accountId, () -> null));
+        assertEquals(1.0, registry.counter("app.admission.rejected", "cause", "timeout").count());
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
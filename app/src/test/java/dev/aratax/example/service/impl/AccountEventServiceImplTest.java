@@ -0,0 +1,127 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.aratax.example.model.vo.BalanceEvent;
+import dev.aratax.example.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountEventServiceImpl Tests")
+class AccountEventServiceImplTest {
+
+    @Mock
+    private AccountService accountService;
+
+    private SimpleMeterRegistry registry;
+    private AccountEventServiceImpl events;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // flushes are driven by the tests
+        events = new AccountEventServiceImpl(accountService, registry, Duration.ofHours(1), Duration.ofHours(1),
+            Duration.ofMinutes(1), 2);
+        accountId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        events.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of notifications into one read and one event per flush")
+    void testCoalescesBurst() {
+        // Given
+        when(accountService.balance(accountId)).thenReturn(account(1), account(4));
+        events.subscribe(accountId);
+
+        // When
+        events.changed(accountId, 2);
+        events.changed(accountId, 4);
+        events.changed(accountId, 3);
+        events.flush();
+
+        // Then
+        verify(accountService, times(2)).balance(accountId);
+        assertEquals(2.0, sent());
+    }
+
+    @Test
+    @DisplayName("Should keep the account dirty while the read is older than the notification")
+    void testStaleReadRetried() {
+        // Given
+        when(accountService.balance(accountId)).thenReturn(account(1), account(1), account(2));
+        events.subscribe(accountId);
+        events.changed(accountId, 2);
+
+        // When
+        events.flush();
+        double afterStaleRead = sent();
+        events.flush();
+
+        // Then
+        assertEquals(1.0, afterStaleRead);
+        assertEquals(2.0, sent());
+    }
+
+    @Test
+    @DisplayName("Should ignore changes to accounts nobody is streaming")
+    void testIgnoresUnwatchedAccounts() {
+        // When
+        events.changed(accountId, 2);
+        events.flush();
+
+        // Then
+        verify(accountService, never()).balance(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse streams beyond the limit")
+    void testMaxStreams() {
+        // Given
+        when(accountService.balance(accountId)).thenReturn(account(1));
+        events.subscribe(accountId);
+        events.subscribe(accountId);
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> events.subscribe(accountId));
+        assertEquals(2.0, registry.get("app.account-events.streams").gauge().value());
+    }
+
+    private double sent() {
+        return registry.get("app.account-events.sent").counter().count();
+    }
+
+    private BalanceEvent account(long version) {
+        return BalanceEvent.builder()
+            .accountId(accountId)
+            .currency("USD")
+            .balance(BigDecimal.TEN)
+            .version(version)
+            .lastEntryId(UUID.randomUUID())
+            .build();
+    }
+
+}
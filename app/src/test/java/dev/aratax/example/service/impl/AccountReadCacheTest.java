@@ -0,0 +1,132 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.aratax.example.model.po.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("AccountReadCache Tests")
+class AccountReadCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private AccountReadCache cache;
+    private UUID accountId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new AccountReadCache(registry, true, 100, Duration.ofMinutes(1));
+        accountId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache until a newer version is notified")
+    void testHitAndInvalidate() {
+        // Given
+        cache.get(accountId, id -> load(id, 1, 0));
+
+        // When
+        cache.get(accountId, id -> load(id, 1, 0));
+        cache.changed(accountId, 1);
+        cache.get(accountId, id -> load(id, 1, 0));
+        cache.changed(accountId, 2);
+        Account reloaded = cache.get(accountId, id -> load(id, 2, 0));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(2, reloaded.getVersion());
+        assertEquals(2.0, registry.counter("app.account-cache.gets", "result", "hit").count());
+        assertEquals(1.0, registry.counter("app.account-cache.evictions", "cause", "invalidated").count());
+    }
+
+    @Test
+    @DisplayName("Should not cache a row older than a version notified while it was loading")
+    void testStaleLoadNotCached() {
+        // When
+        cache.get(accountId, id -> {
+            cache.changed(id, 5);
+            return load(id, 4, 0);
+        });
+        cache.get(accountId, id -> load(id, 5, 0));
+        cache.get(accountId, id -> load(id, 5, 0));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a stale row when a change is notified concurrently with its load")
+    void testConcurrentChange() throws InterruptedException {
+        // Given
+        var version = new AtomicLong(1);
+
+        for (int i = 0; i < 2000; i++) {
+            var start = new CountDownLatch(1);
+            var reader = new Thread(() -> {
+                await(start);
+                cache.get(accountId, id -> load(id, version.get(), 0));
+            });
+            var writer = new Thread(() -> {
+                await(start);
+                cache.changed(accountId, version.incrementAndGet());
+            });
+            reader.start();
+            writer.start();
+
+            // When
+            start.countDown();
+            reader.join();
+            writer.join();
+
+            // Then
+            assertEquals(version.get(), cache.get(accountId, id -> load(id, version.get(), 0)).getVersion());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never cache striped accounts")
+    void testStripedNotCached() {
+        // When
+        cache.get(accountId, id -> load(id, 1, 4));
+        cache.get(accountId, id -> load(id, 1, 4));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Account load(UUID id, long version, int stripes) {
+        loads.incrementAndGet();
+        var account = new Account();
+        account.setId(id);
+        account.setOwnerName("Test User");
+        account.setCurrency("USD");
+        account.setBalance(BigDecimal.TEN);
+        account.setVersion(version);
+        account.setUpdatedAt(Instant.now());
+        account.setStripeCount(stripes);
+        return account;
+    }
+
+}
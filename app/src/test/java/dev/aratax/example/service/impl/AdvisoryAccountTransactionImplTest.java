@@ -0,0 +1,119 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.service.IdempotencyService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AdvisoryAccountTransactionImpl Tests")
+class AdvisoryAccountTransactionImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private JdbcTemplate plainJdbc;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    @Mock
+    private IdempotencyService idempotency;
+
+    private AdvisoryAccountTransactionImpl advisoryTransaction;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbc.getJdbcTemplate()).thenReturn(plainJdbc);
+        advisoryTransaction = new AdvisoryAccountTransactionImpl(jdbc, txManager, idempotency, Duration.ofMillis(500));
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should take the account's advisory lock, bounded by lock_timeout, before the update")
+    @SuppressWarnings("unchecked")
+    void testLocksBeforeUpdate() {
+        // Given
+        TransactionResponse expected = TransactionResponse.builder().status("SUCCESS").build();
+        when(jdbc.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(List.of(expected));
+
+        // When
+        TransactionResponse response =
+            advisoryTransaction.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT");
+
+        // Then
+        assertSame(expected, response);
+        var order = inOrder(plainJdbc, jdbc, idempotency);
+        order.verify(plainJdbc).execute("SET LOCAL lock_timeout = 500");
+        order.verify(jdbc).query(contains("pg_advisory_xact_lock"),
+            argThat((SqlParameterSource p) -> p.getValue("key").equals(AdvisoryAccountTransactionImpl.lockKey(accountId))),
+            any(RowCallbackHandler.class));
+        order.verify(jdbc).query(contains("UPDATE app.accounts"), any(SqlParameterSource.class), any(RowMapper.class));
+        order.verify(idempotency).record(expected);
+    }
+
+    @Test
+    @DisplayName("Should report a lock wait past the timeout as AccountBusyException")
+    void testLockTimeout() {
+        // Given
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+            .when(jdbc).query(contains("pg_advisory_xact_lock"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+
+        // When
+        AccountBusyException ex = assertThrows(AccountBusyException.class, () ->
+            advisoryTransaction.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.TEN, "WITHDRAW"));
+
+        // Then
+        assertEquals(accountId, ex.getAccountId());
+    }
+
+    @Test
+    @DisplayName("Should derive the same 64-bit key for the same account")
+    void testLockKeyStable() {
+        // Given
+        UUID copy = UUID.fromString(accountId.toString());
+
+        // When & Then
+        assertEquals(AdvisoryAccountTransactionImpl.lockKey(accountId), AdvisoryAccountTransactionImpl.lockKey(copy));
+    }
+
+}
@@ -0,0 +1,99 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.vo.TransactionResponse;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AtomicAccountTransactionImpl Tests")
+class AtomicAccountTransactionImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @InjectMocks
+    private AtomicAccountTransactionImpl atomicTransaction;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should return the row produced by the CTE")
+    @SuppressWarnings("unchecked")
+    void testApplied() {
+        // Given
+        TransactionResponse expected = TransactionResponse.builder().status("SUCCESS").build();
+        when(jdbc.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(List.of(expected));
+
+        // When
+        TransactionResponse response =
+            atomicTransaction.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT");
+
+        // Then
+        assertSame(expected, response);
+    }
+
+    @Test
+    @DisplayName("Should map empty RETURNING on a missing row to AccountNotFoundException")
+    @SuppressWarnings("unchecked")
+    void testAccountNotFound() {
+        // Given
+        when(jdbc.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(List.of());
+        when(jdbc.queryForList(anyString(), any(SqlParameterSource.class), eq(BigDecimal.class)))
+            .thenReturn(List.of());
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class, () ->
+            atomicTransaction.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.TEN, "WITHDRAW"));
+    }
+
+    @Test
+    @DisplayName("Should map empty RETURNING on an existing row to InsufficientFundsException")
+    @SuppressWarnings("unchecked")
+    void testInsufficientFunds() {
+        // Given
+        when(jdbc.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(List.of());
+        when(jdbc.queryForList(anyString(), any(SqlParameterSource.class), eq(BigDecimal.class)))
+            .thenReturn(List.of(BigDecimal.ONE));
+
+        // When
+        InsufficientFundsException ex = assertThrows(InsufficientFundsException.class, () ->
+            atomicTransaction.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.TEN, "WITHDRAW"));
+
+        // Then
+        assertEquals(accountId, ex.getAccountId());
+        assertEquals(BigDecimal.ONE, ex.getAvailableBalance());
+    }
+
+}
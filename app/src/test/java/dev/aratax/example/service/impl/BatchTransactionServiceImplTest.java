@@ -0,0 +1,202 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.BatchItemResult;
+import dev.aratax.example.model.vo.BatchTransactionRequest.Item;
+import dev.aratax.example.model.vo.TransactionRequest;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.AccountService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BatchTransactionServiceImpl Tests")
+class BatchTransactionServiceImplTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private LedgerEntryRepository ledgerRepo;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private StripedAccountRegistry stripedAccounts;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private BatchTransactionServiceImpl batchService;
+    private Account first;
+    private Account second;
+
+    @BeforeEach
+    void setUp() {
+        first = account("100.00");
+        second = account("20.00");
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(accountRepo.findAllForUpdate(anyCollection())).thenAnswer(inv -> {
+            Collection<UUID> ids = inv.getArgument(0);
+            return List.of(first, second).stream().filter(a -> ids.contains(a.getId())).toList();
+        });
+        when(ledgerRepo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
+            LedgerEntry entry = inv.getArgument(0);
+            entry.setId(UUID.randomUUID());
+            return entry;
+        });
+        batchService = new BatchTransactionServiceImpl(accountRepo, ledgerRepo, accountService, stripedAccounts,
+            txManager, 2);
+    }
+
+    @Test
+    @DisplayName("Should return one result per item in submission order across chunks and striped accounts")
+    void testMixedBatch() {
+        // Given
+        var striped = UUID.randomUUID();
+        var unknown = UUID.randomUUID();
+        when(stripedAccounts.isStriped(striped)).thenReturn(true);
+        var stripedResponse = TransactionResponse.builder().status("SUCCESS").build();
+        when(accountService.executeTransaction(any(), any())).thenReturn(stripedResponse);
+        var items = List.of(
+            item(first.getId(), TransactionType.DEPOSIT, "10.00"),
+            item(striped, TransactionType.DEPOSIT, "5.00"),
+            item(second.getId(), TransactionType.WITHDRAWAL, "5.00"),
+            item(unknown, TransactionType.DEPOSIT, "1.00"),
+            item(first.getId(), TransactionType.WITHDRAWAL, "30.00"));
+
+        // When
+        var results = batchService.execute(items);
+
+        // Then
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BatchItemResult::getIndex).toList());
+        assertEquals(List.of(200, 200, 200, 404, 200), results.stream().map(BatchItemResult::getCode).toList());
+        assertEquals(List.of(first.getId(), striped, second.getId(), unknown, first.getId()),
+            results.stream().map(BatchItemResult::getAccountId).toList());
+        assertEquals(stripedResponse, results.get(1).getTransaction());
+        assertEquals(new BigDecimal("110.00"), balance(results.get(0)));
+        assertEquals(new BigDecimal("80.00"), balance(results.get(4)));
+        // two chunks of two plain items each; the striped item goes through the account service
+        verify(txManager, times(2)).commit(any());
+        verify(accountService).executeTransaction(striped, items.get(1).getTransaction());
+    }
+
+    @Test
+    @DisplayName("Should fail only the rejected item and commit the rest of its chunk")
+    void testRejectedItem() {
+        // Given
+        var items = List.of(
+            item(second.getId(), TransactionType.WITHDRAWAL, "25.00"),
+            item(first.getId(), TransactionType.DEPOSIT, "1.00"));
+
+        // When
+        var results = batchService.execute(items);
+
+        // Then
+        assertEquals(422, results.get(0).getCode());
+        assertNull(results.get(0).getTransaction());
+        assertEquals(200, results.get(1).getCode());
+        assertEquals(new BigDecimal("20.00"), second.getBalance());
+        verify(ledgerRepo, times(1)).save(any(LedgerEntry.class));
+        verify(txManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should fail every item of a chunk whose commit fails and leave other chunks applied")
+    void testFailedChunk() {
+        // Given
+        doThrow(new TransactionSystemException("connection lost")).doNothing().when(txManager).commit(any());
+        var items = List.of(
+            item(first.getId(), TransactionType.DEPOSIT, "1.00"),
+            item(second.getId(), TransactionType.DEPOSIT, "1.00"),
+            item(first.getId(), TransactionType.DEPOSIT, "2.00"));
+
+        // When
+        var results = batchService.execute(items);
+
+        // Then
+        assertEquals(List.of(500, 500, 200), results.stream().map(BatchItemResult::getCode).toList());
+        assertEquals("connection lost", results.get(0).getError());
+        assertNull(results.get(1).getTransaction());
+    }
+
+    @Test
+    @DisplayName("Should apply items for the same account in submission order")
+    void testSubmissionOrder() {
+        // Given
+        var items = new ArrayList<Item>();
+        items.add(item(second.getId(), TransactionType.DEPOSIT, "10.00"));
+        items.add(item(second.getId(), TransactionType.WITHDRAWAL, "25.00"));
+        items.add(item(second.getId(), TransactionType.WITHDRAWAL, "6.00"));
+        items.add(item(second.getId(), TransactionType.DEPOSIT, "1.00"));
+
+        // When
+        var results = batchService.execute(items);
+
+        // Then
+        assertEquals(List.of(200, 200, 422, 200), results.stream().map(BatchItemResult::getCode).toList());
+        assertEquals(new BigDecimal("30.00"), balance(results.get(0)));
+        assertEquals(new BigDecimal("5.00"), balance(results.get(1)));
+        assertEquals(new BigDecimal("6.00"), balance(results.get(3)));
+    }
+
+    private static Account account(String balance) {
+        var account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setOwnerName("Test User");
+        account.setCurrency("USD");
+        account.setBalance(new BigDecimal(balance));
+        account.setUpdatedAt(Instant.now());
+        return account;
+    }
+
+    private static Item item(UUID accountId, TransactionType type, String amount) {
+        return Item.builder()
+            .accountId(accountId)
+            .transaction(TransactionRequest.builder()
+                .type(type)
+                .amount(new BigDecimal(amount))
+                .lockingMode(LockingMode.PESSIMISTIC)
+                .reason(type.name())
+                .build())
+            .build();
+    }
+
+    private static BigDecimal balance(BatchItemResult result) {
+        return result.getTransaction().getAccount().getBalance();
+    }
+
+}
@@ -0,0 +1,67 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.aratax.example.enums.LockingMode;
+
+@DisplayName("ContentionTracker Tests")
+class ContentionTrackerTest {
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should route to PESSIMISTIC once conflicts reach the threshold")
+    void testEscalatesAtThreshold() {
+        // Given
+        var tracker = new ContentionTracker(64, Duration.ofMinutes(10), 3);
+
+        // When
+        tracker.conflict(accountId);
+        tracker.conflict(accountId);
+        LockingMode below = tracker.choose(accountId);
+        tracker.conflict(accountId);
+
+        // Then
+        assertEquals(LockingMode.OPTIMISTIC, below);
+        assertEquals(LockingMode.PESSIMISTIC, tracker.choose(accountId));
+    }
+
+    @Test
+    @DisplayName("Should decay back to OPTIMISTIC after the conflicts stop")
+    void testDecaysBack() throws InterruptedException {
+        // Given
+        var tracker = new ContentionTracker(64, Duration.ofMillis(20), 2);
+        for (int i = 0; i < 8; i++) {
+            tracker.conflict(accountId);
+        }
+        assertEquals(LockingMode.PESSIMISTIC, tracker.choose(accountId));
+
+        // When: eight half-lives take the score of ~8 well below 2
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(LockingMode.OPTIMISTIC, tracker.choose(accountId));
+        assertTrue(tracker.score(accountId) < 0.1f);
+    }
+
+    @Test
+    @DisplayName("Should reject a slot count that is not a power of two")
+    void testSlotsPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ContentionTracker(100, Duration.ofSeconds(10), 2));
+    }
+
+}
@@ -0,0 +1,234 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.service.IdempotencyService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("GroupCommitAccountTransactionImpl Tests")
+class GroupCommitAccountTransactionImplTest {
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    @Mock
+    private IdempotencyService idempotency;
+
+    private UUID accountId;
+    private UUID otherId;
+    private final Map<UUID, ResultSet> rows = new HashMap<>();
+    private final AtomicReference<Object[]> requested = new AtomicReference<>();
+    private final CountDownLatch locked = new CountDownLatch(1);
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private final List<GroupCommitAccountTransactionImpl> started = new ArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        accountId = UUID.randomUUID();
+        otherId = UUID.randomUUID();
+        rows.put(accountId, row(accountId, "100.00"));
+        rows.put(otherId, row(otherId, "50.00"));
+
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        var ps = mock(PreparedStatement.class);
+        var connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("uuid"), any())).thenAnswer(inv -> {
+            requested.set(inv.getArgument(1));
+            return null;
+        });
+        doAnswer(inv -> {
+            PreparedStatementSetter setter = inv.getArgument(1);
+            RowCallbackHandler handler = inv.getArgument(2);
+            setter.setValues(ps);
+            locked.countDown();
+            gate.await(5, TimeUnit.SECONDS);
+            for (Object id : requested.get()) {
+                if (rows.containsKey(id))
+                    handler.processRow(rows.get(id));
+            }
+            return null;
+        }).when(jdbc).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        callers.shutdownNow();
+        started.forEach(GroupCommitAccountTransactionImpl::stop);
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent requests in one transaction with one batched update and insert")
+    void testBatching() throws Exception {
+        // Given
+        var groupCommit = groupCommit(4, 16, Duration.ofSeconds(5));
+
+        // When
+        var results = List.of(
+            submit(groupCommit, accountId, TransactionType.DEPOSIT, "1.00"),
+            submit(groupCommit, otherId, TransactionType.DEPOSIT, "2.00"),
+            submit(groupCommit, accountId, TransactionType.DEPOSIT, "1.00"),
+            submit(groupCommit, accountId, TransactionType.WITHDRAWAL, "0.50"));
+        for (var result : results)
+            assertEquals("SUCCESS", result.get().getStatus());
+
+        // Then
+        verify(txManager, times(1)).commit(any());
+        var updates = batch("UPDATE");
+        assertEquals(2, updates.size());
+        assertTrue(((UUID) updates.get(0)[3]).compareTo((UUID) updates.get(1)[3]) < 0);
+        var mine = updates.stream().filter(u -> accountId.equals(u[3])).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("101.50"), mine[0]);
+        assertEquals(1L, mine[1]);
+        assertEquals(4, batch("INSERT").size());
+    }
+
+    @Test
+    @DisplayName("Should fail only the rejected operations and commit the rest of the batch")
+    void testFailureIsolated() throws Exception {
+        // Given
+        var groupCommit = groupCommit(3, 16, Duration.ofSeconds(5));
+
+        // When
+        var overdraw = submit(groupCommit, accountId, TransactionType.WITHDRAWAL, "500.00");
+        var unknown = submit(groupCommit, UUID.randomUUID(), TransactionType.DEPOSIT, "1.00");
+        var deposit = submit(groupCommit, accountId, TransactionType.DEPOSIT, "1.00");
+
+        // Then
+        assertInstanceOf(InsufficientFundsException.class, assertThrows(ExecutionException.class, overdraw::get).getCause());
+        assertInstanceOf(AccountNotFoundException.class, assertThrows(ExecutionException.class, unknown::get).getCause());
+        assertEquals(new BigDecimal("101.00"), deposit.get().getAccount().getBalance());
+        assertEquals(new BigDecimal("101.00"), batch("UPDATE").get(0)[0]);
+        assertEquals(1, batch("INSERT").size());
+    }
+
+    @Test
+    @DisplayName("Should free the queue slot of an operation withdrawn on timeout and never apply it")
+    void testQueueFullAndTimeout() throws Exception {
+        // Given
+        var groupCommit = groupCommit(1, 1, Duration.ofSeconds(1));
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(groupCommit, "queue");
+        gate = new CountDownLatch(1);
+        submit(groupCommit, otherId, TransactionType.DEPOSIT, "1.00");
+        locked.await(5, TimeUnit.SECONDS);
+
+        // When
+        var timedOut = assertThrows(AccountBusyException.class, () ->
+            groupCommit.execute(accountId, TransactionType.DEPOSIT, new BigDecimal("7.00"), "DEPOSIT"));
+        int queuedAfterTimeout = queue.size();
+        var pending = submit(groupCommit, accountId, TransactionType.DEPOSIT, "1.00");
+        while (queue.isEmpty())
+            Thread.sleep(1);
+        var full = assertThrows(AccountBusyException.class, () ->
+            groupCommit.execute(accountId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT"));
+        gate.countDown();
+
+        // Then
+        assertTrue(timedOut.getMessage().contains("timed out"));
+        assertEquals(0, queuedAfterTimeout);
+        assertTrue(full.getMessage().contains("queue is full"));
+        assertEquals(new BigDecimal("101.00"), pending.get(5, TimeUnit.SECONDS).getAccount().getBalance());
+        var inserted = batch("INSERT");
+        assertEquals(2, inserted.size());
+        assertTrue(inserted.stream().noneMatch(row -> new BigDecimal("7.00").equals(row[3])));
+    }
+
+    private GroupCommitAccountTransactionImpl groupCommit(int maxBatch, int queueCapacity, Duration timeout) {
+        // a long window, so that a batch is committed exactly when maxBatch operations are queued
+        var groupCommit = new GroupCommitAccountTransactionImpl(jdbc, txManager, Duration.ofSeconds(5),
+            maxBatch, 1, queueCapacity, timeout);
+        ReflectionTestUtils.setField(groupCommit, "idempotency", idempotency);
+        groupCommit.start();
+        started.add(groupCommit);
+        return groupCommit;
+    }
+
+    private Future<TransactionResponse> submit(GroupCommitAccountTransactionImpl groupCommit, UUID id,
+            TransactionType type, String amount) {
+        return callers.submit(() -> groupCommit.execute(id, type, new BigDecimal(amount), type.name()));
+    }
+
+    /** Every row passed to the batched statements starting with the given verb, in call order */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String verb) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbc, atLeastOnce()).batchUpdate(startsWith(verb), captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private static ResultSet row(UUID id, String balance) throws SQLException {
+        var rs = mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(id);
+        when(rs.getString("owner_name")).thenReturn("Test User");
+        when(rs.getString("currency")).thenReturn("USD");
+        when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal(balance));
+        when(rs.getLong("version")).thenReturn(0L);
+        when(rs.getObject("updated_at", OffsetDateTime.class)).thenReturn(OffsetDateTime.now(ZoneOffset.UTC));
+        when(rs.getInt("stripe_count")).thenReturn(0);
+        return rs;
+    }
+
+}
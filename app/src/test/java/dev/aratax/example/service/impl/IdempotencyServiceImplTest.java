@@ -0,0 +1,117 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import dev.aratax.example.exception.DuplicateRequestException;
+import dev.aratax.example.model.po.IdempotencyRecord;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.IdempotencyRecordRepository;
+import dev.aratax.example.service.IdempotencyContext;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyServiceImpl Tests")
+class IdempotencyServiceImplTest {
+
+    private static final String SCOPE = "POST /api/accounts";
+
+    @Mock
+    private IdempotencyRecordRepository recordRepo;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(recordRepo, objectMapper, 100,
+            Duration.ofMinutes(10), Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should execute once and replay the cached response for a repeated key")
+    void testReplayFromCache() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        when(recordRepo.findById("key-1")).thenReturn(Optional.empty());
+
+        // When
+        TransactionResponse first = idempotencyService.execute("key-1", SCOPE, () -> {
+            executions.incrementAndGet();
+            assertEquals("key-1", IdempotencyContext.current().key());
+            return TransactionResponse.builder().status("SUCCESS").transactionId("tx-1").build();
+        });
+        TransactionResponse second = idempotencyService.execute("key-1", SCOPE, () -> {
+            executions.incrementAndGet();
+            return TransactionResponse.builder().status("SUCCESS").transactionId("tx-2").build();
+        });
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals("tx-1", second.getTransactionId());
+        assertEquals(first, second);
+        assertNull(IdempotencyContext.current());
+        verify(recordRepo, times(1)).findById("key-1");
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response after losing a race on the same key")
+    void testReplayAfterDuplicate() throws Exception {
+        // Given
+        var stored = new IdempotencyRecord();
+        stored.setKey("key-2");
+        stored.setScope(SCOPE);
+        stored.setResponse(objectMapper.writeValueAsString(
+            TransactionResponse.builder().status("SUCCESS").transactionId("winner").build()));
+        when(recordRepo.findById("key-2")).thenReturn(Optional.empty(), Optional.of(stored));
+        when(recordRepo.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(0);
+
+        // When
+        TransactionResponse response = idempotencyService.execute("key-2", SCOPE, () -> {
+            var own = TransactionResponse.builder().status("SUCCESS").transactionId("loser").build();
+            idempotencyService.record(own);
+            return own;
+        });
+
+        // Then
+        assertEquals("winner", response.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void testScopeMismatch() {
+        // Given
+        when(recordRepo.findById("key-3")).thenReturn(Optional.empty());
+        idempotencyService.execute("key-3", SCOPE, () -> TransactionResponse.builder().status("SUCCESS").build());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () ->
+            idempotencyService.execute("key-3", "POST /api/accounts/1/transaction",
+                () -> TransactionResponse.builder().build()));
+        assertThrows(DuplicateRequestException.class, () ->
+            IdempotencyContext.callWith(new IdempotencyContext.Key("key-4", SCOPE), () -> {
+                when(recordRepo.insertIfAbsent(anyString(), anyString(), anyString())).thenReturn(0);
+                idempotencyService.record(TransactionResponse.builder().build());
+                return null;
+            }));
+    }
+
+}
@@ -0,0 +1,125 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.repository.LedgerPartitionRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerPartitionManager Tests")
+class LedgerPartitionManagerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-16T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private LedgerPartitionRepository partitionRepo;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private Set<YearMonth> attached;
+
+    @BeforeEach
+    void setUp() {
+        attached = new TreeSet<>();
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(partitionRepo.tryLock()).thenReturn(true);
+        when(partitionRepo.findAttached()).thenAnswer(inv -> List.copyOf(attached));
+        doAnswer(inv -> attached.add(inv.getArgument(0))).when(partitionRepo).create(any());
+        doAnswer(inv -> attached.remove(inv.getArgument(0))).when(partitionRepo).detach(any());
+    }
+
+    @Test
+    @DisplayName("Should create the current month and the months ahead that are missing")
+    void testCreatesMissingMonths() {
+        // Given
+        attached.add(YearMonth.of(2026, 10));
+
+        // When
+        manager(2, Duration.ZERO).maintain();
+
+        // Then
+        verify(partitionRepo, never()).create(YearMonth.of(2026, 10));
+        assertEquals(Set.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12)), attached);
+        verify(partitionRepo, never()).detach(any());
+    }
+
+    @Test
+    @DisplayName("Should detach months that ended before the retention horizon")
+    void testDetachesOldMonths() {
+        // Given
+        attached.addAll(List.of(YearMonth.of(2026, 6), YearMonth.of(2026, 7), YearMonth.of(2026, 8),
+            YearMonth.of(2026, 9), YearMonth.of(2026, 10)));
+
+        // When
+        manager(0, Duration.ofDays(60)).maintain();
+
+        // Then
+        verify(partitionRepo).detach(YearMonth.of(2026, 6));
+        verify(partitionRepo).detach(YearMonth.of(2026, 7));
+        assertEquals(Set.of(YearMonth.of(2026, 8), YearMonth.of(2026, 9), YearMonth.of(2026, 10)), attached);
+    }
+
+    @Test
+    @DisplayName("Should leave partitions alone while another replica holds the lock")
+    void testSkipsWithoutLock() {
+        // Given
+        when(partitionRepo.tryLock()).thenReturn(false);
+
+        // When
+        manager(1, Duration.ofDays(1)).maintain();
+
+        // Then
+        verify(partitionRepo, never()).create(any());
+        verify(partitionRepo, never()).setLockTimeout(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should carry on with the next month when one change times out")
+    void testContinuesAfterLockTimeout() {
+        // Given
+        doAnswer(inv -> {
+            if (YearMonth.of(2026, 10).equals(inv.getArgument(0)))
+                throw new CannotAcquireLockException("canceling statement due to lock timeout");
+            return attached.add(inv.getArgument(0));
+        }).when(partitionRepo).create(any());
+
+        // When
+        manager(1, Duration.ZERO).maintain();
+
+        // Then
+        assertEquals(Set.of(YearMonth.of(2026, 11)), attached);
+    }
+
+    private LedgerPartitionManager manager(int ahead, Duration retain) {
+        return new LedgerPartitionManager(partitionRepo, txManager, CLOCK, ahead, retain, Duration.ofSeconds(5));
+    }
+
+}
@@ -0,0 +1,211 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.aratax.example.archive.LedgerArchive;
+import dev.aratax.example.enums.ExportFormat;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.model.po.BalanceSnapshot;
+import dev.aratax.example.model.vo.BalanceAsOf;
+import dev.aratax.example.model.vo.LedgerPage;
+import dev.aratax.example.model.vo.LedgerQuery;
+import dev.aratax.example.model.vo.TransactionResponse.LedgerEntryDto;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.BalanceSnapshotRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.repository.LedgerEntryRepositoryCustom.Tail;
+import dev.aratax.example.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerServiceImpl Tests")
+class LedgerServiceImplTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private LedgerEntryRepository ledgerRepo;
+
+    @Mock
+    private BalanceSnapshotRepository snapshotRepo;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    @TempDir
+    private Path archiveDir;
+
+    private LedgerServiceImpl ledgerService;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LedgerServiceImpl(accountRepo, ledgerRepo, snapshotRepo,
+            new LedgerArchive(archiveDir, new SimpleMeterRegistry()), new ObjectMapper().findAndRegisterModules(), txManager, 100, 2);
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and return its predecessor as the next cursor")
+    void testNextCursor() {
+        // Given
+        List<LedgerEntryDto> rows = IntStream.range(0, 3)
+            .mapToObj(i -> LedgerEntryDto.builder().id(UuidV7.next()).build())
+            .toList();
+        when(ledgerRepo.findPage(eq(accountId), any(LedgerQuery.class), eq(3))).thenReturn(rows);
+
+        // When
+        LedgerPage page = ledgerService.page(accountId, new LedgerQuery(), 2);
+
+        // Then
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getEntries().size());
+        assertEquals(rows.get(1).getId(), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should end on a short page and report unknown accounts")
+    void testLastPageAndMissingAccount() {
+        // Given
+        when(ledgerRepo.findPage(eq(accountId), any(LedgerQuery.class), eq(11))).thenReturn(List.of());
+        when(accountRepo.existsById(accountId)).thenReturn(true, false);
+
+        // When
+        LedgerPage page = ledgerService.page(accountId, new LedgerQuery(), 10);
+
+        // Then
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertThrows(AccountNotFoundException.class, () -> ledgerService.page(accountId, new LedgerQuery(), 10));
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.page(accountId, new LedgerQuery(), 101));
+    }
+
+    @Test
+    @DisplayName("Should stream CSV rows with quoted reasons and free the export slot afterwards")
+    @SuppressWarnings("unchecked")
+    void testCsvExport() throws Exception {
+        // Given
+        var entry = LedgerEntryDto.builder()
+            .id(UuidV7.next())
+            .accountId(accountId)
+            .direction("CREDIT")
+            .amount(new BigDecimal("12.50"))
+            .reason("refund, \"late\"")
+            .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+            .build();
+        when(accountRepo.existsById(accountId)).thenReturn(true);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(inv -> {
+            ((Consumer<LedgerEntryDto>) inv.getArgument(3)).accept(entry);
+            return null;
+        }).when(ledgerRepo).streamAll(eq(accountId), any(), any(), any());
+
+        // When
+        var out = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            out.reset();
+            ledgerService.export(accountId, null, null, ExportFormat.CSV).writeTo(out);
+        }
+
+        // Then
+        assertEquals("id,account_id,direction,amount,reason,created_at\n"
+            + entry.getId() + "," + accountId + ",CREDIT,12.50,\"refund, \"\"late\"\"\",2025-01-01T00:00:00Z\n",
+            out.toString(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () ->
+            ledgerService.export(null, Instant.now(), null, ExportFormat.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON object per line and take no export slot for a body never written")
+    @SuppressWarnings("unchecked")
+    void testNdjsonExport() throws Exception {
+        // Given
+        var entries = IntStream.range(0, 3)
+            .mapToObj(i -> LedgerEntryDto.builder()
+                .id(UuidV7.next())
+                .accountId(accountId)
+                .direction(i % 2 == 0 ? "CREDIT" : "DEBIT")
+                .amount(new BigDecimal(i + 1 + ".00"))
+                .reason(i == 1 ? null : "line\n" + i)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i))
+                .build())
+            .toList();
+        when(accountRepo.existsById(accountId)).thenReturn(true);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(inv -> {
+            entries.forEach((Consumer<LedgerEntryDto>) inv.getArgument(3));
+            return null;
+        }).when(ledgerRepo).streamAll(eq(accountId), any(), any(), any());
+
+        // When
+        for (int i = 0; i < 3; i++)
+            ledgerService.export(accountId, null, null, ExportFormat.NDJSON);
+        var out = new ByteArrayOutputStream();
+        ledgerService.export(accountId, null, null, ExportFormat.NDJSON).writeTo(out);
+
+        // Then
+        var mapper = new ObjectMapper().findAndRegisterModules();
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(entries.size(), lines.length);
+        for (int i = 0; i < lines.length; i++)
+            assertEquals(entries.get(i), mapper.readValue(lines[i], LedgerEntryDto.class));
+    }
+
+    @Test
+    @DisplayName("Should answer a balance from the latest snapshot plus the ledger tail after its boundary")
+    void testBalanceAsOf() {
+        // Given
+        var asOf = Instant.parse("2025-01-01T12:00:00Z");
+        var snapshot = new BalanceSnapshot();
+        snapshot.setAccountId(accountId);
+        snapshot.setAsOf(Instant.parse("2025-01-01T11:00:00Z"));
+        snapshot.setBoundaryId(UuidV7.min(snapshot.getAsOf().toEpochMilli()));
+        snapshot.setBalance(new BigDecimal("100.00"));
+        when(accountRepo.existsById(accountId)).thenReturn(true);
+        when(snapshotRepo.findLatest(accountId, asOf)).thenReturn(Optional.of(snapshot));
+        when(ledgerRepo.sumTail(accountId, snapshot.getBoundaryId(), asOf)).thenReturn(new Tail(new BigDecimal("-25.50"), 3));
+
+        // When
+        BalanceAsOf balance = ledgerService.balanceAsOf(accountId, asOf);
+
+        // Then
+        assertEquals(new BigDecimal("74.50"), balance.getBalance());
+        assertEquals(snapshot.getAsOf(), balance.getSnapshotAsOf());
+        assertEquals(3, balance.getTailEntries());
+        assertThrows(IllegalArgumentException.class, () ->
+            ledgerService.balanceAsOf(accountId, Instant.now().plusSeconds(60)));
+    }
+
+}
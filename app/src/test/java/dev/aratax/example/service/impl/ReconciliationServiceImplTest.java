@@ -0,0 +1,136 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.util.UuidV7;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReconciliationServiceImpl Tests")
+class ReconciliationServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private ReconciliationServiceImpl reconciliation;
+
+    private UUID runId;
+
+    @BeforeEach
+    void setUp() {
+        reconciliation = new ReconciliationServiceImpl(jdbc, txManager, 2, 1000, 100);
+        runId = UuidV7.next();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliation.stop();
+    }
+
+    @Test
+    @DisplayName("Should cut the id space into contiguous chunks with an open-ended last chunk")
+    void testPlan() {
+        // Given
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbc.queryForList(startsWith("SELECT id FROM app.accounts"), any(SqlParameterSource.class), eq(UUID.class)))
+            .thenReturn(List.of(first), List.of(second), List.of());
+
+        // When
+        reconciliation.plan(runId);
+
+        // Then
+        var batch = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbc).batchUpdate(startsWith("INSERT INTO app.reconciliation_chunks"), batch.capture());
+        var chunks = batch.getValue();
+        assertEquals(3, chunks.length);
+        assertEquals(new UUID(0, 0), chunks[0].getValue("lo"));
+        assertEquals(first, chunks[0].getValue("hi"));
+        assertEquals(first, chunks[1].getValue("lo"));
+        assertEquals(second, chunks[1].getValue("hi"));
+        assertEquals(second, chunks[2].getValue("lo"));
+        assertNull(chunks[2].getValue("hi"));
+    }
+
+    @Test
+    @DisplayName("Should finish a run as FAILED when a chunk fails, leaving that chunk for a resume")
+    @SuppressWarnings("unchecked")
+    void testFailedChunk() {
+        // Given
+        var boundary = UUID.randomUUID();
+        when(jdbc.query(startsWith("SELECT chunk, lo_id, hi_id"), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(List.of(new ReconciliationServiceImpl.Chunk(0, new UUID(0, 0), boundary),
+                new ReconciliationServiceImpl.Chunk(1, boundary, null)));
+        when(jdbc.update(anyString(), any(SqlParameterSource.class))).thenAnswer(inv -> {
+            var params = inv.getArgument(1, MapSqlParameterSource.class);
+            if (params.hasValue("chunk") && params.getValue("hi") == null)
+                throw new IllegalStateException("connection reset");
+            return 1;
+        });
+
+        // When
+        reconciliation.execute(runId);
+
+        // Then
+        verify(jdbc).update(startsWith("UPDATE app.reconciliation_runs SET status = :status"),
+            argThat((SqlParameterSource params) -> ReconciliationServiceImpl.FAILED.equals(params.getValue("status"))));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start, and plan nothing, while another replica holds the run lock")
+    void testLockedByOtherReplica(@Mock JdbcTemplate plainJdbc, @Mock DataSource dataSource,
+            @Mock Connection connection, @Mock Statement statement, @Mock ResultSet rs) throws SQLException {
+        // Given
+        when(jdbc.getJdbcTemplate()).thenReturn(plainJdbc);
+        when(plainJdbc.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(startsWith("SELECT pg_try_advisory_lock"))).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getBoolean(1)).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> reconciliation.start(false));
+        verify(jdbc, never()).update(anyString(), any(SqlParameterSource.class));
+        verify(connection).close();
+    }
+
+}
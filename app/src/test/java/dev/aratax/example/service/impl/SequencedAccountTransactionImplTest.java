@@ -0,0 +1,244 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.AccountBusyException;
+import dev.aratax.example.exception.AccountNotFoundException;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.exception.TransactionOutcomeUnknownException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SequencedAccountTransactionImpl Tests")
+class SequencedAccountTransactionImplTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private LedgerEntryRepository ledgerRepo;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private SequencedAccountTransactionImpl sequencer;
+    private Account testAccount;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        testAccount = new Account();
+        testAccount.setId(accountId);
+        testAccount.setOwnerName("Test User");
+        testAccount.setCurrency("USD");
+        testAccount.setBalance(BigDecimal.valueOf(100));
+        testAccount.setUpdatedAt(Instant.now());
+
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(ledgerRepo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
+            LedgerEntry entry = inv.getArgument(0);
+            entry.setId(UUID.randomUUID());
+            return entry;
+        });
+
+        sequencer = new SequencedAccountTransactionImpl(accountRepo, ledgerRepo, txManager,
+            4, 128, 16, Duration.ofSeconds(5));
+        sequencer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.stop();
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent deposits for one account without losing updates")
+    void testConcurrentDeposits() throws Exception {
+        // Given
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(testAccount));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<TransactionResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(callers.submit(() ->
+                sequencer.execute(accountId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT")));
+        }
+        for (Future<TransactionResponse> result : results) {
+            assertEquals("SUCCESS", result.get().getStatus());
+        }
+        callers.shutdown();
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(testAccount.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should reject only the overdrawing withdrawal")
+    void testInsufficientFundsIsolated() {
+        // Given
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(testAccount));
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () ->
+            sequencer.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.valueOf(500), "WITHDRAW"));
+        TransactionResponse response =
+            sequencer.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.valueOf(40), "WITHDRAW");
+
+        assertEquals(0, BigDecimal.valueOf(60).compareTo(response.getAccount().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should replay a batch once on a fresh load when another replica moved the version")
+    void testReplayAfterConcurrentWrite() {
+        // Given
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account("100.00")), Optional.of(account("90.00")));
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId))
+            .doNothing()
+            .when(txManager).commit(any());
+
+        // When
+        TransactionResponse response =
+            sequencer.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT");
+
+        // Then
+        assertEquals(0, new BigDecimal("100.00").compareTo(response.getAccount().getBalance()));
+        verify(accountRepo, times(2)).findById(accountId);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch with a conflict when the replay loses too")
+    void testConflictAfterReplay() {
+        // Given
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account("100.00")), Optional.of(account("90.00")));
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId)).when(txManager).commit(any());
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+            sequencer.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT"));
+        verify(accountRepo, times(2)).findById(accountId);
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException for unknown account")
+    void testAccountNotFound() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(accountRepo.findById(unknownId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class, () ->
+            sequencer.execute(unknownId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT"));
+        verify(ledgerRepo, never()).save(any(LedgerEntry.class));
+    }
+
+    @Test
+    @DisplayName("Should withdraw an operation that timed out in the lane and never apply it")
+    void testTimeoutBeforeApplied() throws Exception {
+        // Given
+        var slow = new SequencedAccountTransactionImpl(accountRepo, ledgerRepo, txManager,
+            1, 128, 16, Duration.ofMillis(200));
+        slow.start();
+        var blockedId = UUID.randomUUID();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(accountRepo.findById(blockedId)).thenAnswer(inv -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Account());
+        });
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(testAccount));
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            callers.submit(() -> slow.execute(blockedId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT"));
+            entered.await(5, TimeUnit.SECONDS);
+
+            // When
+            assertThrows(AccountBusyException.class, () ->
+                slow.execute(accountId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT"));
+            release.countDown();
+            slow.execute(accountId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT");
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            slow.stop();
+        }
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(101).compareTo(testAccount.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should report an unknown outcome rather than busy once the operation is being applied")
+    void testTimeoutWhileApplying() {
+        // Given
+        var slow = new SequencedAccountTransactionImpl(accountRepo, ledgerRepo, txManager,
+            1, 128, 16, Duration.ofMillis(100));
+        slow.start();
+        var release = new CountDownLatch(1);
+        when(accountRepo.findById(accountId)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(testAccount);
+        });
+
+        // When & Then
+        try {
+            assertThrows(TransactionOutcomeUnknownException.class, () ->
+                slow.execute(accountId, TransactionType.DEPOSIT, BigDecimal.ONE, "DEPOSIT"));
+        } finally {
+            release.countDown();
+            slow.stop();
+        }
+    }
+
+    private Account account(String balance) {
+        var account = new Account();
+        account.setId(accountId);
+        account.setOwnerName("Test User");
+        account.setCurrency("USD");
+        account.setBalance(new BigDecimal(balance));
+        account.setUpdatedAt(Instant.now());
+        return account;
+    }
+
+}
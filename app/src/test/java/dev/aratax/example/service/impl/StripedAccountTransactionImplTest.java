@@ -0,0 +1,169 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.AccountStripe;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.AccountStripeRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import dev.aratax.example.service.IdempotencyService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("StripedAccountTransactionImpl Tests")
+class StripedAccountTransactionImplTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private AccountStripeRepository stripeRepo;
+
+    @Mock
+    private LedgerEntryRepository ledgerRepo;
+
+    @Mock
+    private StripedAccountRegistry stripedAccounts;
+
+    @Mock
+    private IdempotencyService idempotency;
+
+    @InjectMocks
+    private StripedAccountTransactionImpl stripedTransaction;
+
+    private UUID accountId;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        account = new Account();
+        account.setId(accountId);
+        account.setOwnerName("Hot Account");
+        account.setCurrency("USD");
+        account.setBalance(BigDecimal.ZERO);
+        account.setStripeCount(4);
+        account.setUpdatedAt(Instant.now());
+        when(stripedAccounts.stripeCount(accountId)).thenReturn(4);
+        when(accountRepo.getReferenceById(accountId)).thenReturn(account);
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepo.findTotalBalance(accountId)).thenReturn(Optional.of(new BigDecimal("400.00")));
+        when(ledgerRepo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
+            LedgerEntry entry = inv.getArgument(0);
+            entry.setId(UUID.randomUUID());
+            return entry;
+        });
+    }
+
+    @Test
+    @DisplayName("Should credit a single stripe and report the total across stripes")
+    void testDepositToStripe() {
+        // Given
+        when(stripeRepo.credit(eq(accountId), anyInt(), any())).thenReturn(1);
+
+        // When
+        var response = stripedTransaction.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT");
+
+        // Then
+        verify(stripeRepo).credit(eq(accountId), anyInt(), eq(BigDecimal.TEN));
+        verify(accountRepo, never()).credit(any(), any());
+        assertEquals(new BigDecimal("400.00"), response.getAccount().getBalance());
+        verify(idempotency).record(response);
+    }
+
+    @Test
+    @DisplayName("Should credit the base row when the stripes are gone")
+    void testDepositAfterUnstriping() {
+        // Given
+        when(stripeRepo.credit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(accountRepo.credit(accountId, BigDecimal.TEN)).thenReturn(1);
+
+        // When
+        stripedTransaction.execute(accountId, TransactionType.DEPOSIT, BigDecimal.TEN, "DEPOSIT");
+
+        // Then
+        verify(accountRepo).credit(accountId, BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should withdraw from the first stripe that covers the amount without locking")
+    void testWithdrawFromStripe() {
+        // Given
+        when(stripeRepo.debit(eq(accountId), anyInt(), any())).thenReturn(0, 0, 1);
+
+        // When
+        stripedTransaction.execute(accountId, TransactionType.WITHDRAWAL, BigDecimal.TEN, "WITHDRAW");
+
+        // Then
+        verify(stripeRepo, times(3)).debit(eq(accountId), anyInt(), eq(BigDecimal.TEN));
+        verify(stripeRepo, never()).findAllForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should consolidate and rebalance when no single stripe covers the amount")
+    void testWithdrawAcrossStripes() {
+        // Given
+        account.setBalance(new BigDecimal("5.01"));
+        var parts = List.of(AccountStripe.of(accountId, 0, new BigDecimal("30.00")),
+            AccountStripe.of(accountId, 1, new BigDecimal("30.00")),
+            AccountStripe.of(accountId, 2, new BigDecimal("30.00")),
+            AccountStripe.of(accountId, 3, new BigDecimal("30.00")));
+        when(stripeRepo.debit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(stripeRepo.findAllForUpdate(accountId)).thenReturn(parts);
+        when(accountRepo.findForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        // When
+        stripedTransaction.execute(accountId, TransactionType.WITHDRAWAL, new BigDecimal("100.00"), "WITHDRAW");
+
+        // Then
+        verify(stripeRepo, times(4)).debit(eq(accountId), anyInt(), any());
+        assertEquals(0, BigDecimal.ZERO.compareTo(account.getBalance()));
+        assertEquals(List.of(new BigDecimal("6.26"), new BigDecimal("6.25"), new BigDecimal("6.25"),
+            new BigDecimal("6.25")), parts.stream().map(AccountStripe::getBalance).toList());
+    }
+
+    @Test
+    @DisplayName("Should refuse a withdrawal larger than the base row and all stripes together")
+    void testInsufficientAcrossStripes() {
+        // Given
+        var parts = List.of(AccountStripe.of(accountId, 0, new BigDecimal("30.00")),
+            AccountStripe.of(accountId, 1, new BigDecimal("30.00")));
+        when(stripeRepo.debit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(stripeRepo.findAllForUpdate(accountId)).thenReturn(parts);
+        when(accountRepo.findForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> stripedTransaction.execute(accountId,
+            TransactionType.WITHDRAWAL, new BigDecimal("60.01"), "WITHDRAW"));
+        verify(ledgerRepo, never()).save(any());
+    }
+
+}
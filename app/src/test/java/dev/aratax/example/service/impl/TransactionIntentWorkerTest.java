@@ -0,0 +1,168 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.CannotAcquireLockException;
+
+import dev.aratax.example.enums.IntentStatus;
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.vo.TransactionIntent;
+import dev.aratax.example.model.vo.TransactionRequest;
+import dev.aratax.example.model.vo.TransactionResponse;
+import dev.aratax.example.repository.TransactionIntentRepository;
+import dev.aratax.example.service.AccountService;
+import dev.aratax.example.service.IdempotencyService;
+import dev.aratax.example.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransactionIntentWorker Tests")
+class TransactionIntentWorkerTest {
+
+    @Mock
+    private TransactionIntentRepository intentRepo;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private SimpleMeterRegistry registry;
+    private TransactionIntentWorker worker;
+    private UUID accountA;
+    private UUID accountB;
+    private TransactionResponse success;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        worker = new TransactionIntentWorker(intentRepo, accountService, idempotencyService,
+            new DataSourceProperties(), registry, 1, 100, Duration.ofSeconds(30), Duration.ofMinutes(5), 3,
+            Duration.ofSeconds(1), Duration.ofHours(24), Duration.ofSeconds(2));
+        accountA = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        accountB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        success = TransactionResponse.builder().status("SUCCESS").build();
+        when(idempotencyService.execute(anyString(), anyString(), any(Supplier.class)))
+            .thenAnswer(inv -> ((Supplier<TransactionResponse>) inv.getArgument(2)).get());
+        when(accountService.executeTransaction(any(), any())).thenReturn(success);
+    }
+
+    @Test
+    @DisplayName("Should run each account's intents in id order under their idempotency keys")
+    void testPerAccountOrder() {
+        // Given
+        var a1 = intent(accountA, 1, null, 0);
+        var a2 = intent(accountA, 2, "client-key", 0);
+        var b1 = intent(accountB, 3, null, 0);
+
+        // When
+        worker.process(List.of(b1, a2, a1));
+
+        // Then
+        var order = inOrder(idempotencyService, intentRepo);
+        order.verify(idempotencyService).execute(eq("intent:" + a1.getId()),
+            eq("POST /api/accounts/" + accountA + "/transaction"), any());
+        order.verify(intentRepo).complete(a1.getId(), success);
+        order.verify(idempotencyService).execute(eq("client-key"), anyString(), any());
+        order.verify(intentRepo).complete(a2.getId(), success);
+        order.verify(idempotencyService).execute(eq("intent:" + b1.getId()), anyString(), any());
+        order.verify(intentRepo).complete(b1.getId(), success);
+        assertEquals(3.0, registry.get("app.intents.processed").tag("outcome", "done").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should requeue the rest of the account on a transient failure and go on with the next account")
+    void testTransientFailureRequeuesAccount() {
+        // Given
+        var a1 = intent(accountA, 1, null, 1);
+        var a2 = intent(accountA, 2, null, 0);
+        var b1 = intent(accountB, 3, null, 0);
+        when(accountService.executeTransaction(eq(accountA), any()))
+            .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // When
+        worker.process(List.of(a1, a2, b1));
+
+        // Then
+        verify(intentRepo).requeue(a1.getId(), List.of(a1.getId(), a2.getId()), Duration.ofSeconds(2));
+        verify(intentRepo, never()).complete(eq(a2.getId()), any());
+        verify(intentRepo).complete(b1.getId(), success);
+        assertEquals(1.0, registry.get("app.intents.processed").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail an intent on a business error without retrying it")
+    void testBusinessFailure() {
+        // Given
+        var a1 = intent(accountA, 1, null, 0);
+        var a2 = intent(accountA, 2, null, 0);
+        when(accountService.executeTransaction(eq(accountA), any(TransactionRequest.class)))
+            .thenThrow(new InsufficientFundsException(accountA, BigDecimal.TEN, BigDecimal.ONE))
+            .thenReturn(success);
+
+        // When
+        worker.process(List.of(a1, a2));
+
+        // Then
+        verify(intentRepo).fail(eq(a1.getId()), anyString());
+        verify(intentRepo).complete(a2.getId(), success);
+        verify(intentRepo, never()).requeue(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail an intent that runs out of attempts")
+    void testAttemptsExhausted() {
+        // Given
+        var a1 = intent(accountA, 1, null, 2);
+        when(accountService.executeTransaction(eq(accountA), any()))
+            .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // When
+        worker.process(List.of(a1));
+
+        // Then
+        verify(intentRepo).fail(eq(a1.getId()), anyString());
+        verify(intentRepo, never()).requeue(any(), any(), any());
+    }
+
+    private static TransactionIntent intent(UUID accountId, long millis, String key, int attempts) {
+        return TransactionIntent.builder()
+            .id(UuidV7.min(millis))
+            .accountId(accountId)
+            .type(TransactionType.DEPOSIT)
+            .amount(BigDecimal.TEN)
+            .lockingMode(LockingMode.OPTIMISTIC)
+            .idempotencyKey(key)
+            .status(IntentStatus.RUNNING)
+            .attempts(attempts)
+            .build();
+    }
+
+}
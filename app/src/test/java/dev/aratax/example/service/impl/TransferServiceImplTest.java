@@ -0,0 +1,167 @@
+package dev.aratax.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import dev.aratax.example.enums.LockingMode;
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransferRequest;
+import dev.aratax.example.model.vo.TransferResponse;
+import dev.aratax.example.repository.AccountRepository;
+import dev.aratax.example.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransferServiceImpl Tests")
+class TransferServiceImplTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private LedgerEntryRepository ledgerRepo;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private StripedAccountRegistry stripedAccounts;
+
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private SimpleMeterRegistry registry;
+    private TransferServiceImpl transferService;
+
+    @BeforeEach
+    void setUp() {
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(ledgerRepo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
+            LedgerEntry entry = inv.getArgument(0);
+            entry.setId(UUID.randomUUID());
+            return entry;
+        });
+        registry = new SimpleMeterRegistry();
+        transferService = new TransferServiceImpl(accountRepo, ledgerRepo, jdbc, stripedAccounts,
+            new ContentionTracker(16, Duration.ofSeconds(10), 2), txManager, registry);
+    }
+
+    @Test
+    @DisplayName("Should order ids the way PostgreSQL sorts uuid values")
+    void testLockOrder() {
+        // Given: signed comparison would put the high-bit id first
+        UUID low = UUID.fromString("7fffffff-0000-7000-8000-000000000000");
+        UUID high = UUID.fromString("80000000-0000-7000-8000-000000000000");
+
+        // When & Then
+        assertEquals(List.of(low, high), TransferServiceImpl.ordered(high, low));
+        assertEquals(List.of(low, high), TransferServiceImpl.ordered(low, high));
+    }
+
+    @Test
+    @DisplayName("Should debit and credit both accounts under one ordered lock")
+    void testPessimisticTransfer() {
+        // Given
+        Account from = account("USD", 100);
+        Account to = account("USD", 5);
+        when(accountRepo.findAllForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        // When
+        TransferResponse response = transferService.transfer(request(from, to, LockingMode.PESSIMISTIC));
+
+        // Then
+        assertEquals(new BigDecimal("70"), response.getFrom().getBalance());
+        assertEquals(new BigDecimal("35"), response.getTo().getBalance());
+        assertEquals("DEBIT", response.getDebit().getDirection());
+        assertEquals("CREDIT", response.getCredit().getDirection());
+    }
+
+    @Test
+    @DisplayName("Should reject cross-currency and overdrawing transfers without writing a ledger leg")
+    void testRejectedTransfers() {
+        // Given
+        Account from = account("USD", 10);
+        Account euro = account("EUR", 0);
+        Account dollar = account("USD", 0);
+        when(accountRepo.findAllForUpdate(anyList())).thenReturn(List.of(from, euro), List.of(from, dollar));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            transferService.transfer(request(from, euro, LockingMode.PESSIMISTIC)));
+        assertThrows(InsufficientFundsException.class, () ->
+            transferService.transfer(request(from, dollar, LockingMode.PESSIMISTIC)));
+        assertThrows(IllegalArgumentException.class, () ->
+            transferService.transfer(request(from, from, LockingMode.PESSIMISTIC)));
+        verify(ledgerRepo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should count optimistic transfer retries and the transfer that runs out of them")
+    void testOptimisticRetries() {
+        // Given: mocked rollbacks leave the entities changed, so from has room for every attempt
+        Account from = account("USD", 1000);
+        Account to = account("USD", 5);
+        when(accountRepo.findAllById(anyList())).thenReturn(List.of(from, to));
+        var conflict = new ObjectOptimisticLockingFailureException(Account.class, from.getId());
+        doThrow(conflict, conflict).doNothing().when(txManager).commit(any());
+
+        // When
+        transferService.transfer(request(from, to, LockingMode.OPTIMISTIC));
+        doThrow(conflict).when(txManager).commit(any());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+            transferService.transfer(request(from, to, LockingMode.OPTIMISTIC)));
+
+        // Then
+        assertEquals(7, registry.get("app.transfer.optimistic.retries").counter().count());
+        assertEquals(1, registry.get("app.transfer.optimistic.exhausted").counter().count());
+    }
+
+    private static Account account(String currency, long balance) {
+        var account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setOwnerName("Test User");
+        account.setCurrency(currency);
+        account.setBalance(BigDecimal.valueOf(balance));
+        account.setUpdatedAt(Instant.now());
+        return account;
+    }
+
+    private static TransferRequest request(Account from, Account to, LockingMode mode) {
+        return TransferRequest.builder()
+            .fromAccountId(from.getId())
+            .toAccountId(to.getId())
+            .amount(BigDecimal.valueOf(30))
+            .lockingMode(mode)
+            .reason("TRANSFER")
+            .build();
+    }
+
+}
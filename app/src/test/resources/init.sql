@@ -8,16 +8,148 @@ CREATE TABLE IF NOT EXISTS app.accounts (
       currency CHAR(3) NOT NULL,
       balance NUMERIC(18, 2) NOT NULL DEFAULT 0,
       version BIGINT NOT NULL DEFAULT 0,
-      updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+      updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+      stripe_count INT NOT NULL DEFAULT 0
     );
 
 CREATE INDEX IF NOT EXISTS idx_accounts_owner ON app.accounts(owner_name);
 
+CREATE OR REPLACE FUNCTION app.notify_account_changed() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+  PERFORM pg_notify('account_changed', NEW.id::text || ':' || NEW.version);
+  RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE TRIGGER trg_accounts_changed
+  AFTER UPDATE ON app.accounts
+  FOR EACH ROW EXECUTE FUNCTION app.notify_account_changed();
+
+-- monthly range partitions on the uuidv7 time prefix of id, created ahead and detached when
+-- old by LedgerPartitionManager; the default partition only catches ids outside them
 CREATE TABLE IF NOT EXISTS app.ledger_entries (
-  id UUID PRIMARY KEY DEFAULT uuidv7(),
+  id UUID NOT NULL DEFAULT uuidv7(),
   account_id UUID NOT NULL CONSTRAINT fk_ledger_account REFERENCES app.accounts(ID),
   direction TEXT NOT NULL,
   amount NUMERIC(18, 2) NOT NULL CHECK (AMOUNT > 0),
   reason TEXT,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (id)
+) PARTITION BY RANGE (id);
+
+CREATE TABLE IF NOT EXISTS app.ledger_entries_default PARTITION OF app.ledger_entries DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_ledger_account_id ON app.ledger_entries (account_id, id)
+  INCLUDE (direction, amount, reason, created_at);
+
+-- per-account net of each detached partition, so reconciliation still covers its entries
+CREATE TABLE IF NOT EXISTS app.ledger_detached_totals (
+  account_id UUID NOT NULL,
+  partition_name TEXT NOT NULL,
+  net NUMERIC NOT NULL,
+  entries BIGINT NOT NULL,
+  PRIMARY KEY (account_id, partition_name)
+);
+
+CREATE TABLE IF NOT EXISTS app.account_stripes (
+  account_id UUID NOT NULL CONSTRAINT fk_stripe_account REFERENCES app.accounts(ID),
+  stripe INT NOT NULL,
+  balance NUMERIC(18, 2) NOT NULL DEFAULT 0 CHECK (balance >= 0),
+  PRIMARY KEY (account_id, stripe)
+) WITH (fillfactor = 70);
+
+-- striped writes move balance without touching the account row; publish them on the same channel
+CREATE OR REPLACE FUNCTION app.notify_account_stripe_changed() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+  PERFORM pg_notify('account_changed', NEW.account_id::text || ':'
+    || (SELECT version FROM app.accounts WHERE id = NEW.account_id));
+  RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE TRIGGER trg_account_stripes_changed
+  AFTER UPDATE ON app.account_stripes
+  FOR EACH ROW EXECUTE FUNCTION app.notify_account_stripe_changed();
+
+CREATE TABLE IF NOT EXISTS app.idempotency_keys (
+  idempotency_key TEXT PRIMARY KEY,
+  scope TEXT NOT NULL,
+  response JSONB NOT NULL,
   created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_created ON app.idempotency_keys(created_at);
+
+CREATE TABLE IF NOT EXISTS app.balance_snapshots (
+  account_id UUID NOT NULL CONSTRAINT fk_snapshot_account REFERENCES app.accounts(ID),
+  as_of TIMESTAMPTZ NOT NULL,
+  boundary_id UUID NOT NULL,
+  balance NUMERIC(18, 2) NOT NULL,
+  PRIMARY KEY (account_id, as_of)
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_snapshots_as_of ON app.balance_snapshots(as_of);
+
+CREATE TABLE IF NOT EXISTS app.reconciliation_runs (
+  id UUID PRIMARY KEY,
+  status TEXT NOT NULL,
+  started_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  finished_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS app.reconciliation_chunks (
+  run_id UUID NOT NULL CONSTRAINT fk_chunk_run REFERENCES app.reconciliation_runs(id) ON DELETE CASCADE,
+  chunk INT NOT NULL,
+  lo_id UUID NOT NULL,
+  hi_id UUID,
+  accounts INT,
+  mismatches INT,
+  done_at TIMESTAMPTZ,
+  PRIMARY KEY (run_id, chunk)
+);
+
+CREATE TABLE IF NOT EXISTS app.reconciliation_mismatches (
+  run_id UUID NOT NULL CONSTRAINT fk_mismatch_run REFERENCES app.reconciliation_runs(id) ON DELETE CASCADE,
+  account_id UUID NOT NULL,
+  balance NUMERIC(18, 2) NOT NULL,
+  ledger_balance NUMERIC(18, 2) NOT NULL,
+  found_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (run_id, account_id)
+);
+
+CREATE TABLE IF NOT EXISTS app.transaction_intents (
+  id UUID PRIMARY KEY DEFAULT uuidv7(),
+  account_id UUID NOT NULL CONSTRAINT fk_intent_account REFERENCES app.accounts(ID),
+  type TEXT NOT NULL,
+  amount NUMERIC(18, 2) NOT NULL CHECK (amount > 0),
+  locking_mode TEXT NOT NULL,
+  reason TEXT,
+  idempotency_key TEXT UNIQUE,
+  status TEXT NOT NULL DEFAULT 'PENDING',
+  attempts INT NOT NULL DEFAULT 0,
+  available_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  claimed_at TIMESTAMPTZ,
+  result JSONB,
+  error TEXT,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  completed_at TIMESTAMPTZ
+);
+
+-- queue heads in arrival order, and the per-account check that no earlier intent is still open
+CREATE INDEX IF NOT EXISTS idx_intents_pending ON app.transaction_intents (id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_intents_open ON app.transaction_intents (account_id, id)
+  WHERE status IN ('PENDING', 'RUNNING');
+
+CREATE OR REPLACE FUNCTION app.notify_transaction_intent() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+  PERFORM pg_notify('transaction_intent', '');
+  RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE TRIGGER trg_intents_submitted
+  AFTER INSERT ON app.transaction_intents
+  FOR EACH STATEMENT EXECUTE FUNCTION app.notify_transaction_intent();
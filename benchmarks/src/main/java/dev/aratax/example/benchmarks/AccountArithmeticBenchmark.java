@@ -0,0 +1,58 @@
+package dev.aratax.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import dev.aratax.example.exception.InsufficientFundsException;
+import dev.aratax.example.model.po.Account;
+
+/** The BigDecimal arithmetic every write path runs on the in-memory account */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountArithmeticBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("12.34");
+
+    private Account funded;
+    private Account empty;
+
+    // large enough that an iteration of withdrawals never runs dry
+    @Setup(Level.Iteration)
+    public void setUp() {
+        funded = Fixtures.account(new BigDecimal("1000000000000.00"));
+        empty = Fixtures.account(BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public Account deposit() {
+        funded.deposit(AMOUNT);
+        return funded;
+    }
+
+    @Benchmark
+    public Account withdraw() {
+        funded.withdraw(AMOUNT);
+        return funded;
+    }
+
+    @Benchmark
+    public Object withdrawRejected() {
+        try {
+            empty.withdraw(AMOUNT);
+            return empty;
+        } catch (InsufficientFundsException ex) {
+            return ex;
+        }
+    }
+
+}
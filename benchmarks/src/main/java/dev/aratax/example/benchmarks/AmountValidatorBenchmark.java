@@ -0,0 +1,51 @@
+package dev.aratax.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import dev.aratax.example.util.AmountValidator;
+
+/**
+ * Valid amount, an amount with too many decimals and one above the maximum; the rejected
+ * cases show what {@code validate} pays for building its exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AmountValidatorBenchmark {
+
+    @Param({"125.50", "0.001", "1000000000.00"})
+    public String amount;
+
+    private BigDecimal value;
+
+    @Setup
+    public void setUp() {
+        value = new BigDecimal(amount);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return AmountValidator.isValid(value);
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            AmountValidator.validate(value);
+            return value;
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+}
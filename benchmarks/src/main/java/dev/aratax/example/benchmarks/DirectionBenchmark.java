@@ -0,0 +1,29 @@
+package dev.aratax.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import dev.aratax.example.enums.Direction;
+import dev.aratax.example.enums.TransactionType;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DirectionBenchmark {
+
+    @Param({"DEPOSIT", "WITHDRAWAL"})
+    public TransactionType type;
+
+    @Benchmark
+    public Direction fromTransactionType() {
+        return Direction.fromTransactionType(type);
+    }
+
+}
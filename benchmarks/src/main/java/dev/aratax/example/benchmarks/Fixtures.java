@@ -0,0 +1,37 @@
+package dev.aratax.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import dev.aratax.example.enums.TransactionType;
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+
+/** Representative domain objects, shaped like the rows a deposit reads and writes */
+final class Fixtures {
+
+    private Fixtures() {
+        // Utility class, prevent instantiation
+    }
+
+    static Account account(BigDecimal balance) {
+        var account = new Account();
+        account.setId(UUID.fromString("3f93c1c2-1c52-4df5-8c6a-9b0c6d7c5c11"));
+        account.setOwnerName("Alice");
+        account.setCurrency("USD");
+        account.setBalance(balance);
+        account.setVersion(42);
+        account.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        return account;
+    }
+
+    static LedgerEntry ledgerEntry(Account account) {
+        var entry = LedgerEntry.of(account, TransactionType.DEPOSIT, new BigDecimal("125.50"), "DEPOSIT");
+        // fixed uuidv7-shaped id, so the harness also builds on trees without UuidV7
+        entry.setId(UUID.fromString("01942f5e-8c00-7a3b-9d2e-4f6a1b2c3d4e"));
+        entry.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        return entry;
+    }
+
+}
@@ -0,0 +1,67 @@
+package dev.aratax.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.vo.ApiResponse;
+import dev.aratax.example.model.vo.TransactionResponse;
+
+/**
+ * Response bodies written the way the application's ObjectMapper writes them, per the
+ * {@code spring.jackson} settings in application.yml. {@code indent=true} is the shipped
+ * configuration; {@code false} shows what pretty printing costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean indent;
+
+    private ObjectWriter writer;
+    private TransactionResponse transaction;
+    private ApiResponse<Account> accountResponse;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .indentOutput(indent)
+            .build()
+            .writer();
+        var account = Fixtures.account(new BigDecimal("1000.00"));
+        transaction = TransactionResponse.success(account, Fixtures.ledgerEntry(account));
+        accountResponse = new ApiResponse<>(200, "Account retrieved successfully", account);
+    }
+
+    @Benchmark
+    public byte[] transactionResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] accountResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(accountResponse);
+    }
+
+}
@@ -0,0 +1,43 @@
+package dev.aratax.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import dev.aratax.example.model.po.Account;
+import dev.aratax.example.model.po.LedgerEntry;
+import dev.aratax.example.model.vo.TransactionResponse;
+
+/** Entity to response mapping that closes every successful write */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionResponseBenchmark {
+
+    private Account account;
+    private LedgerEntry entry;
+
+    @Setup
+    public void setUp() {
+        account = Fixtures.account(new BigDecimal("1000.00"));
+        entry = Fixtures.ledgerEntry(account);
+    }
+
+    @Benchmark
+    public TransactionResponse success() {
+        return TransactionResponse.success(account, entry);
+    }
+
+    @Benchmark
+    public TransactionResponse successWithoutEntry() {
+        return TransactionResponse.success(account, null);
+    }
+
+}
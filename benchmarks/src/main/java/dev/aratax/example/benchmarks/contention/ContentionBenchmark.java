@@ -0,0 +1,423 @@
+package dev.aratax.example.benchmarks.contention;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.aratax.example.DefaultSpringbootApplication;
+import dev.aratax.example.enums.LockingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Starts the application in-process against PostgreSQL and drives deposits and withdrawals
+ * over HTTP for every requested {@link LockingMode} and client thread count. Accounts are
+ * picked from a Zipfian distribution, so a few hot accounts see most of the traffic. Each
+ * run reports throughput, latency percentiles, optimistic retries, and two correctness
+ * checks: the final balances against what the client saw acknowledged, and every balance
+ * against its ledger. The process exits with 1 if any check fails.
+ *
+ * <p>Without {@code --jdbc-url} an embedded PostgreSQL 18 is started in a temporary directory
+ * and the schema is created from {@code init.sql}. Options are {@code --name=value}; any
+ * {@code --spring.*}, {@code --server.*} or {@code --app.*} option is passed to the application.
+ */
+public final class ContentionBenchmark {
+
+    private static final String RETRIES = "app.transaction.optimistic.retries";
+    private static final String EXHAUSTED = "app.transaction.optimistic.exhausted";
+
+    private static final String BALANCES = """
+        SELECT a.id, a.balance + COALESCE((SELECT SUM(s.balance) FROM app.account_stripes s
+                                            WHERE s.account_id = a.id), 0) AS balance
+          FROM app.accounts a
+         WHERE a.id = ANY (?)""";
+
+    private static final String LEDGER_MISMATCHES = """
+        SELECT count(*)
+          FROM app.accounts a
+         WHERE a.id = ANY (?)
+           AND a.balance + COALESCE((SELECT SUM(s.balance) FROM app.account_stripes s
+                                      WHERE s.account_id = a.id), 0)
+            <> COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                           FROM app.ledger_entries e
+                          WHERE e.account_id = a.id), 0)""";
+
+    private static final String CSV_HEADER = "mode,threads,accounts,skew,deposit_ratio,ops_per_sec,ok,rejected,failed,"
+        + "p50_ms,p99_ms,p999_ms,max_ms,retries,retries_exhausted,balance_check,ledger_check\n";
+
+    private final Options options;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private String baseUrl;
+    private MeterRegistry registry;
+    private UUID[] accounts;
+
+    private ContentionBenchmark(Options options, String jdbcUrl, String username, String password) {
+        this.options = options;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = Options.parse(args);
+        EmbeddedPostgres embedded = null;
+        try {
+            String url = options.jdbcUrl;
+            String user = options.username;
+            String pass = options.password;
+            if (url == null) {
+                embedded = EmbeddedPostgres.builder().start();
+                url = embedded.getJdbcUrl("postgres", "postgres");
+                user = "postgres";
+                pass = "postgres";
+            }
+            var benchmark = new ContentionBenchmark(options, url, user, pass);
+            boolean passed = benchmark.execute();
+            System.exit(passed ? 0 : 1);
+        } finally {
+            if (embedded != null)
+                embedded.close();
+        }
+    }
+
+    private boolean execute() throws Exception {
+        createSchemaIfMissing();
+        List<String> springArgs = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.profiles.active=default",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.datasource.username=" + username,
+            "--spring.datasource.password=" + password,
+            "--app.jitter.enabled=" + options.jitter));
+        springArgs.addAll(options.passthrough);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DefaultSpringbootApplication.class)
+                .run(springArgs.toArray(String[]::new))) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            registry = context.getBean(MeterRegistry.class);
+            openAccounts();
+
+            System.out.printf(Locale.ROOT, "%d accounts, skew %.2f (hottest account takes %.1f%% of requests), "
+                    + "deposit ratio %.2f, warmup %s, duration %s%n", options.accounts, options.skew,
+                new ZipfianSampler(options.accounts, options.skew).hottestShare() * 100, options.depositRatio,
+                options.warmup, options.duration);
+            System.out.printf(Locale.ROOT, "%-13s %7s %10s %8s %8s %7s %9s %9s %9s %9s %8s %9s %8s %8s%n",
+                "mode", "threads", "ops/s", "ok", "rejected", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms",
+                "retries", "exhausted", "balance", "ledger");
+
+            boolean passed = true;
+            var csv = new StringBuilder();
+            for (LockingMode mode : options.modes) {
+                for (int threads : options.threads) {
+                    var result = run(mode, threads);
+                    result.print();
+                    csv.append(result.csv(options));
+                    passed &= !"FAIL".equals(result.balanceCheck()) && !"FAIL".equals(result.ledgerCheck());
+                }
+            }
+            if (options.out != null)
+                writeCsv(csv.toString());
+            return passed;
+        }
+    }
+
+    private Result run(LockingMode mode, int threads) throws Exception {
+        var sampler = new ZipfianSampler(accounts.length, options.skew);
+        long amountCents = options.amount.movePointRight(2).longValueExact();
+        long[] before = balances();
+        var acknowledged = new AtomicLongArray(accounts.length);
+        var recorder = new Recorder(3);
+        var ok = new LongAdder();
+        var rejected = new LongAdder();
+        var failed = new LongAdder();
+        var unknown = new LongAdder();
+        var phase = new Phase();
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().name("contention-" + t).start(() -> {
+                while (phase.running) {
+                    int account = sampler.next();
+                    boolean deposit = ThreadLocalRandom.current().nextDouble() < options.depositRatio;
+                    long start = System.nanoTime();
+                    int status = send(accounts[account], deposit ? "DEPOSIT" : "WITHDRAWAL", mode);
+                    long elapsed = System.nanoTime() - start;
+                    if (status == 200)
+                        acknowledged.addAndGet(account, deposit ? amountCents : -amountCents);
+                    else if (status < 400 || status >= 500)
+                        unknown.increment();
+                    if (!phase.measuring)
+                        continue;
+                    recorder.recordValue(elapsed);
+                    if (status == 200)
+                        ok.increment();
+                    else if (status >= 400 && status < 500)
+                        rejected.increment();
+                    else
+                        failed.increment();
+                }
+            }));
+        }
+
+        Thread.sleep(options.warmup.toMillis());
+        recorder.reset();
+        double retriesBefore = count(RETRIES);
+        double exhaustedBefore = count(EXHAUSTED);
+        phase.measuring = true;
+        long measureStart = System.nanoTime();
+        Thread.sleep(options.duration.toMillis());
+        phase.measuring = false;
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        Histogram histogram = recorder.getIntervalHistogram();
+        double retries = count(RETRIES) - retriesBefore;
+        double exhausted = count(EXHAUSTED) - exhaustedBefore;
+        phase.running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] after = balances();
+        String balanceCheck = "OK";
+        if (unknown.sum() > 0) {
+            // a timed-out or failed request may still have committed
+            balanceCheck = "SKIPPED";
+        } else {
+            for (int i = 0; i < accounts.length; i++) {
+                if (after[i] != before[i] + acknowledged.get(i))
+                    balanceCheck = "FAIL";
+            }
+        }
+        String ledgerCheck = ledgerMismatches() == 0 ? "OK" : "FAIL";
+
+        return new Result(mode, threads, (ok.sum() + rejected.sum()) / seconds, ok.sum(), rejected.sum(),
+            failed.sum(), millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()), (long) retries,
+            (long) exhausted, balanceCheck, ledgerCheck);
+    }
+
+    /** HTTP status, or -1 when the request failed without one */
+    private int send(UUID account, String type, LockingMode mode) {
+        var body = String.format(Locale.ROOT,
+            "{\"type\":\"%s\",\"amount\":%s,\"lockingMode\":\"%s\",\"reason\":\"BENCHMARK\"}",
+            type, options.amount.toPlainString(), mode.name());
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + account + "/transaction"))
+            .timeout(options.requestTimeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private void openAccounts() throws Exception {
+        accounts = new UUID[options.accounts];
+        for (int i = 0; i < accounts.length; i++) {
+            var body = String.format(Locale.ROOT,
+                "{\"ownerName\":\"Contention %s\",\"currency\":\"USD\",\"initialDeposit\":%s}",
+                ownerSuffix(i), options.initialBalance.toPlainString());
+            var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+            var response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200)
+                throw new IllegalStateException("Opening an account failed: " + response.body());
+            accounts[i] = UUID.fromString(json.readTree(response.body()).path("account").path("id").asText());
+        }
+    }
+
+    private long[] balances() throws SQLException {
+        Map<UUID, Long> byId = new HashMap<>();
+        try (Connection connection = connect(); var statement = connection.prepareStatement(BALANCES)) {
+            statement.setArray(1, connection.createArrayOf("uuid", accounts));
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    byId.put(rs.getObject(1, UUID.class), rs.getBigDecimal(2).movePointRight(2).longValueExact());
+                }
+            }
+        }
+        return Arrays.stream(accounts).mapToLong(byId::get).toArray();
+    }
+
+    private long ledgerMismatches() throws SQLException {
+        try (Connection connection = connect(); var statement = connection.prepareStatement(LEDGER_MISMATCHES)) {
+            statement.setArray(1, connection.createArrayOf("uuid", accounts));
+            try (var rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void createSchemaIfMissing() throws Exception {
+        try (Connection connection = connect(); var statement = connection.createStatement()) {
+            try (var rs = statement.executeQuery("SELECT to_regclass('app.accounts') IS NOT NULL")) {
+                rs.next();
+                if (rs.getBoolean(1))
+                    return;
+            }
+            try (var script = ContentionBenchmark.class.getResourceAsStream("/init.sql")) {
+                statement.execute(new String(script.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    private double count(String name) {
+        return registry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private void writeCsv(String rows) throws IOException {
+        var out = options.out;
+        if (out.getParent() != null)
+            Files.createDirectories(out.getParent());
+        if (!Files.exists(out))
+            Files.writeString(out, CSV_HEADER);
+        Files.writeString(out, rows, StandardOpenOption.APPEND);
+        System.out.println("Results appended to " + out);
+    }
+
+    /** Owner names may only contain letters, so the account index is spelled in base 26 */
+    private static String ownerSuffix(int index) {
+        var suffix = new StringBuilder();
+        do {
+            suffix.insert(0, (char) ('A' + index % 26));
+            index = index / 26 - 1;
+        } while (index >= 0);
+        return suffix.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Phase {
+        volatile boolean running = true;
+        volatile boolean measuring;
+    }
+
+    private record Result(LockingMode mode, int threads, double opsPerSecond, long ok, long rejected,
+            long failed, double p50, double p99, double p999, double max, long retries, long exhausted,
+            String balanceCheck, String ledgerCheck) {
+
+        void print() {
+            System.out.printf(Locale.ROOT, "%-13s %7d %10.1f %8d %8d %7d %9.2f %9.2f %9.2f %9.2f %8d %9d %8s %8s%n",
+                mode, threads, opsPerSecond, ok, rejected, failed, p50, p99, p999, max, retries, exhausted,
+                balanceCheck, ledgerCheck);
+        }
+
+        String csv(Options options) {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.1f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%d,%d,%s,%s%n",
+                mode, threads, options.accounts, options.skew, options.depositRatio, opsPerSecond, ok, rejected,
+                failed, p50, p99, p999, max, retries, exhausted, balanceCheck, ledgerCheck);
+        }
+    }
+
+    static final class Options {
+
+        List<LockingMode> modes = List.of(LockingMode.values());
+        List<Integer> threads = List.of(8, 32);
+        int accounts = 100;
+        double skew = 0.99;
+        double depositRatio = 0.5;
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(20);
+        Duration requestTimeout = Duration.ofSeconds(30);
+        BigDecimal amount = new BigDecimal("1.00");
+        BigDecimal initialBalance = new BigDecimal("1000000.00");
+        boolean jitter;
+        String jdbcUrl;
+        String username;
+        String password;
+        Path out;
+        List<String> passthrough = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            var options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("="))
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                var name = arg.substring(2, arg.indexOf('='));
+                var value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "modes" -> options.modes = Arrays.stream(value.split(","))
+                        .map(m -> LockingMode.valueOf(m.trim().toUpperCase(Locale.ROOT))).toList();
+                    case "threads" -> options.threads = Arrays.stream(value.split(","))
+                        .map(t -> Integer.parseInt(t.trim())).toList();
+                    case "accounts" -> options.accounts = Integer.parseInt(value);
+                    case "skew" -> options.skew = Double.parseDouble(value);
+                    case "deposit-ratio" -> options.depositRatio = Double.parseDouble(value);
+                    case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                    case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                    case "request-timeout" -> options.requestTimeout = DurationStyle.detectAndParse(value);
+                    case "amount" -> options.amount = new BigDecimal(value);
+                    case "initial-balance" -> options.initialBalance = new BigDecimal(value);
+                    case "jitter" -> options.jitter = Boolean.parseBoolean(value);
+                    case "jdbc-url" -> options.jdbcUrl = value;
+                    case "username" -> options.username = value;
+                    case "password" -> options.password = value;
+                    case "out" -> options.out = Path.of(value);
+                    default -> {
+                        if (name.startsWith("spring.") || name.startsWith("server.") || name.startsWith("app."))
+                            options.passthrough.add(arg);
+                        else
+                            throw new IllegalArgumentException("Unknown option: --" + name);
+                    }
+                }
+            }
+            if (options.depositRatio < 0 || options.depositRatio > 1)
+                throw new IllegalArgumentException("deposit-ratio must be between 0 and 1");
+            return options;
+        }
+    }
+
+}
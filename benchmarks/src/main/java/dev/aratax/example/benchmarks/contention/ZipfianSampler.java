@@ -0,0 +1,42 @@
+package dev.aratax.example.benchmarks.contention;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws item indexes with P(rank k) proportional to 1 / k^skew, by binary search over a
+ * precomputed CDF. Skew 0 is uniform; around 1 a handful of accounts take most of the
+ * traffic. Index 0 is the hottest item.
+ */
+final class ZipfianSampler {
+
+    private final double[] cdf;
+
+    ZipfianSampler(int items, double skew) {
+        if (items < 1)
+            throw new IllegalArgumentException("items must be positive");
+        if (skew < 0)
+            throw new IllegalArgumentException("skew must not be negative");
+        cdf = new double[items];
+        double sum = 0;
+        for (int k = 0; k < items; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < items; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int i = Arrays.binarySearch(cdf, u);
+        return Math.min(i >= 0 ? i : -i - 1, cdf.length - 1);
+    }
+
+    /** Share of draws that land on the hottest item */
+    double hottestShare() {
+        return cdf[0];
+    }
+
+}
@@ -12,7 +12,7 @@
  * Environment Variables:
  *   BASE_URL    : API base URL (default: http://localhost:8080)
  *   ACCOUNT_ID  : Target account UUID (required)
- *   MODE        : Locking mode - OPTIMISTIC or PESSIMISTIC (default: OPTIMISTIC)
+ *   MODE        : Locking mode - OPTIMISTIC, PESSIMISTIC, SEQUENCED, GROUP_COMMIT, ATOMIC, AUTO or ADVISORY (default: OPTIMISTIC)
  */
 
 import http from 'k6/http';
@@ -26,6 +26,7 @@ import { Counter, Trend, Rate } from 'k6/metrics';
 const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
 const ACCOUNT_ID = __ENV.ACCOUNT_ID;
 const MODE = __ENV.MODE || 'OPTIMISTIC';
+const MODES = ['OPTIMISTIC', 'PESSIMISTIC', 'SEQUENCED', 'GROUP_COMMIT', 'ATOMIC', 'AUTO', 'ADVISORY'];
 const params = {
   headers: {
     "Host": "app.demo.local",
@@ -38,8 +39,8 @@ if (!ACCOUNT_ID) {
   throw new Error('ACCOUNT_ID environment variable is required. Usage: k6 run -e ACCOUNT_ID=your-uuid test/k6-load-test.js');
 }
 
-if (MODE !== 'OPTIMISTIC' && MODE !== 'PESSIMISTIC') {
-  throw new Error(`MODE must be 'OPTIMISTIC' or 'PESSIMISTIC', got: ${MODE}`);
+if (!MODES.includes(MODE)) {
+  throw new Error(`MODE must be one of ${MODES.join(', ')}, got: ${MODE}`);
 }
 
 // K6 test options